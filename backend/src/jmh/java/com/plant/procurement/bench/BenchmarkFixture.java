@@ -0,0 +1,190 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.ProcurementApplication;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.DepartmentRepository;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.master.ItemRepository;
+import com.plant.procurement.master.Vendor;
+import com.plant.procurement.master.VendorRepository;
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.dto.PurchaseOrderCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
+import com.plant.procurement.requisition.RequisitionService;
+import com.plant.procurement.requisition.dto.RequisitionCreateRequest;
+import com.plant.procurement.requisition.dto.RequisitionDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionLineRequest;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StockLedger;
+import com.plant.procurement.store.StoreStock;
+import com.plant.procurement.store.StoreStockRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The application running under the {@code perf} profile on a private
+ * file-based H2 database (PostgreSQL mode), seeded with one department, one
+ * vendor and {@code itemCount} stocked items. Each JMH trial starts its own
+ * fixture, so data sizes are set by benchmark params; the database files are
+ * deleted on close.
+ */
+final class BenchmarkFixture implements AutoCloseable {
+
+    /**
+     * Stock and line quantities large enough that no benchmark runs out.
+     */
+    static final double PLENTY = 1.0e12;
+
+    private final ConfigurableApplicationContext context;
+    private final Path databaseDir;
+    private final TransactionTemplate transaction;
+    private final Department department;
+    private final Vendor vendor;
+    private final List<Item> items;
+
+    private BenchmarkFixture(ConfigurableApplicationContext context, Path databaseDir, int itemCount) {
+        this.context = context;
+        this.databaseDir = databaseDir;
+        this.transaction = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        this.department = bean(DepartmentRepository.class).save(Department.builder()
+                .code("BENCH")
+                .name("Benchmark")
+                .active(true)
+                .build());
+        this.vendor = bean(VendorRepository.class).save(Vendor.builder()
+                .code("BENCH")
+                .name("Benchmark Vendor")
+                .active(true)
+                .build());
+
+        List<Item> newItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            newItems.add(Item.builder()
+                    .code("IT" + i)
+                    .description("Benchmark item " + i)
+                    .uom("NOS")
+                    .minStock(5)
+                    .reorderLevel(10)
+                    .active(true)
+                    .build());
+        }
+        this.items = bean(ItemRepository.class).saveAll(newItems);
+        bean(StoreStockRepository.class).saveAll(items.stream()
+                .map(item -> StoreStock.builder()
+                        .item(item)
+                        .availableQuantity(PLENTY)
+                        .reservedQuantity(0.0)
+                        .build())
+                .toList());
+        bean(StockLedger.class).reload();
+    }
+
+    static BenchmarkFixture start(int itemCount) {
+        Path databaseDir;
+        try {
+            databaseDir = Files.createTempDirectory("procurement-bench-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProcurementApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .profiles("perf")
+                .properties(
+                        "server.port=0",
+                        "procurement.perf.db-dir=" + databaseDir,
+                        "logging.level.root=WARN")
+                .run();
+        return new BenchmarkFixture(context, databaseDir, itemCount);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    <T> T inTransaction(Supplier<T> work) {
+        return transaction.execute(status -> work.get());
+    }
+
+    Long departmentId() {
+        return department.getId();
+    }
+
+    List<Item> items(int count) {
+        return items.subList(0, Math.min(count, items.size()));
+    }
+
+    /**
+     * A requisition over the first {@code lineCount} items, taken through
+     * HOD and Plant Head approval.
+     */
+    RequisitionResponse approvedRequisition(int lineCount, double quantity) {
+        RequisitionService requisitionService = bean(RequisitionService.class);
+        RequisitionResponse created = requisitionService.create(new RequisitionCreateRequest(
+                department.getId(),
+                "bench",
+                null,
+                null,
+                items(lineCount).stream()
+                        .map(item -> new RequisitionLineRequest(item.getId(), quantity, null))
+                        .toList()));
+        RequisitionDecisionRequest decision = new RequisitionDecisionRequest("bench", null);
+        requisitionService.approveByHod(created.id(), decision);
+        return requisitionService.approveByPlantHead(created.id(), decision);
+    }
+
+    PurchaseRequisitionResponse purchaseRequisition(int lineCount, double quantity) {
+        return bean(ProcurementService.class).createPR(new PurchaseRequisitionCreateRequest(
+                null,
+                department.getId(),
+                "bench",
+                null,
+                null,
+                items(lineCount).stream()
+                        .map(item -> new PurchaseRequisitionLineRequest(item.getId(), quantity, null))
+                        .toList()));
+    }
+
+    PurchaseOrderCreateRequest purchaseOrderRequest(PurchaseRequisitionResponse pr, double quantity) {
+        return new PurchaseOrderCreateRequest(
+                pr.id(),
+                vendor.getId(),
+                null,
+                "bench",
+                null,
+                null,
+                null,
+                pr.lines().stream()
+                        .map(line -> new PurchaseOrderLineRequest(
+                                line.id(), line.item().id(), quantity, BigDecimal.valueOf(12.5), null))
+                        .toList());
+    }
+
+    PurchaseOrderResponse purchaseOrder(int lineCount, double quantity) {
+        return bean(ProcurementService.class)
+                .createPO(purchaseOrderRequest(purchaseRequisition(lineCount, quantity), quantity));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        FileSystemUtils.deleteRecursively(databaseDir.toFile());
+    }
+}
@@ -0,0 +1,101 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.dto.PurchaseOrderCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
+import com.plant.procurement.requisition.RequisitionService;
+import com.plant.procurement.requisition.dto.RequisitionCreateRequest;
+import com.plant.procurement.requisition.dto.RequisitionLineRequest;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Save latency of new documents against their line count. With pooled
+ * sequence ids and JDBC batching, lines are inserted in batches of
+ * {@code hibernate.jdbc.batch_size}, so latency should grow far more slowly
+ * than the line count. The same benchmark run with
+ * {@code -jvmArgsAppend -Dspring.jpa.properties.hibernate.jdbc.batch_size=1}
+ * gives the unbatched baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DocumentSaveBenchmark {
+
+    @Param({"10", "100", "300"})
+    public int lines;
+
+    private BenchmarkFixture fixture;
+    private RequisitionService requisitionService;
+    private ProcurementService procurementService;
+    private RequisitionCreateRequest requisitionRequest;
+    private PurchaseRequisitionCreateRequest purchaseRequisitionRequest;
+    private PurchaseOrderCreateRequest purchaseOrderRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixture.start(lines);
+        requisitionService = fixture.bean(RequisitionService.class);
+        procurementService = fixture.bean(ProcurementService.class);
+
+        Long departmentId = fixture.departmentId();
+        requisitionRequest = new RequisitionCreateRequest(
+                departmentId,
+                "bench",
+                null,
+                null,
+                fixture.items(lines).stream()
+                        .map(item -> new RequisitionLineRequest(item.getId(), 1.0, null))
+                        .toList());
+        purchaseRequisitionRequest = new PurchaseRequisitionCreateRequest(
+                null,
+                departmentId,
+                "bench",
+                null,
+                null,
+                fixture.items(lines).stream()
+                        .map(item -> new PurchaseRequisitionLineRequest(item.getId(), 1.0, null))
+                        .toList());
+        purchaseOrderRequest = fixture.purchaseOrderRequest(fixture.purchaseRequisition(lines, 1.0), 1.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public RequisitionResponse saveRequisition() {
+        return requisitionService.create(requisitionRequest);
+    }
+
+    @Benchmark
+    public PurchaseRequisitionResponse savePurchaseRequisition() {
+        return procurementService.createPR(purchaseRequisitionRequest);
+    }
+
+    @Benchmark
+    public PurchaseOrderResponse savePurchaseOrder() {
+        return procurementService.createPO(purchaseOrderRequest);
+    }
+}
@@ -0,0 +1,77 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store issue creation against a requisition of {@code lines} lines that
+ * has already been issued in {@code priorIssues} instalments. Issue cost
+ * should not depend on the history: the time per issue stays flat across
+ * {@code priorIssues}, and across iterations as measured invocations add
+ * further instalments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IssueHistoryBenchmark {
+
+    @Param({"0", "100", "1000"})
+    public int priorIssues;
+
+    @Param({"20"})
+    public int lines;
+
+    private BenchmarkFixture fixture;
+    private StoreService storeService;
+    private StoreIssueCreateRequest issueRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixture.start(lines);
+        storeService = fixture.bean(StoreService.class);
+
+        RequisitionResponse requisition = fixture.approvedRequisition(lines, BenchmarkFixture.PLENTY);
+        issueRequest = new StoreIssueCreateRequest(
+                requisition.id(),
+                "bench",
+                null,
+                null,
+                requisition.lines().stream()
+                        .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                        .toList());
+        for (int i = 0; i < priorIssues; i++) {
+            storeService.createIssue(issueRequest);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public StoreIssueResponse createIssue() {
+        return storeService.createIssue(issueRequest);
+    }
+}
@@ -0,0 +1,93 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.requisition.RequisitionService;
+import com.plant.procurement.requisition.RequisitionStatus;
+import com.plant.procurement.requisition.dto.RequisitionListItemResponse;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreIssueStatus;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One list page of {@code page} requisitions and of {@code page} store
+ * issues, each document having {@code lines} lines. Run with the default
+ * {@code -prof gc}: {@code gc.alloc.rate.norm} is the memory allocated per
+ * request. The requisition list reads projection rows, so its allocation
+ * should not grow with {@code lines}; the issue list still maps issue lines
+ * but no requisition lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListPageBenchmark {
+
+    @Param({"50"})
+    public int page;
+
+    @Param({"5", "50", "200"})
+    public int lines;
+
+    private BenchmarkFixture fixture;
+    private RequisitionService requisitionService;
+    private StoreService storeService;
+    private ListFilter<RequisitionStatus> requisitionFilter;
+    private ListFilter<StoreIssueStatus> issueFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixture.start(lines);
+        requisitionService = fixture.bean(RequisitionService.class);
+        storeService = fixture.bean(StoreService.class);
+
+        for (int i = 0; i < page; i++) {
+            RequisitionResponse requisition = fixture.approvedRequisition(lines, 10.0);
+            storeService.createIssue(new StoreIssueCreateRequest(
+                    requisition.id(),
+                    "bench",
+                    null,
+                    null,
+                    requisition.lines().stream()
+                            .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                            .toList()));
+        }
+        requisitionFilter = ListFilter.of(null, null, null, null, null, page);
+        issueFilter = ListFilter.of(null, null, null, null, null, page);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public KeysetPage<RequisitionListItemResponse> requisitionPage() {
+        return requisitionService.list(requisitionFilter);
+    }
+
+    @Benchmark
+    public KeysetPage<StoreIssueResponse> storeIssuePage() {
+        return storeService.listIssues(issueFilter);
+    }
+}
@@ -0,0 +1,88 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.requisition.Requisition;
+import com.plant.procurement.requisition.RequisitionMapper;
+import com.plant.procurement.requisition.RequisitionRepository;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreIssue;
+import com.plant.procurement.store.StoreIssueMapper;
+import com.plant.procurement.store.StoreIssueRepository;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response mapping of a fully loaded requisition and store issue of
+ * {@code lines} lines, with no database access inside the measured code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int lines;
+
+    private BenchmarkFixture fixture;
+    private RequisitionMapper requisitionMapper;
+    private StoreIssueMapper storeIssueMapper;
+    private Requisition requisition;
+    private StoreIssue issue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixture.start(lines);
+        requisitionMapper = fixture.bean(RequisitionMapper.class);
+        storeIssueMapper = fixture.bean(StoreIssueMapper.class);
+
+        RequisitionResponse approved = fixture.approvedRequisition(lines, 10.0);
+        StoreIssueResponse created = fixture.bean(StoreService.class).createIssue(new StoreIssueCreateRequest(
+                approved.id(),
+                "bench",
+                null,
+                null,
+                approved.lines().stream()
+                        .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                        .toList()));
+
+        // Loaded through the repositories' entity graphs, then detached
+        requisition = fixture.inTransaction(() -> fixture.bean(RequisitionRepository.class)
+                .findById(approved.id()).orElseThrow());
+        issue = fixture.inTransaction(() -> fixture.bean(StoreIssueRepository.class)
+                .findById(created.id()).orElseThrow());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public RequisitionResponse requisitionToResponse() {
+        return requisitionMapper.toResponse(requisition);
+    }
+
+    @Benchmark
+    public StoreIssueResponse storeIssueToResponse() {
+        return storeIssueMapper.toResponse(issue, lines);
+    }
+}
@@ -0,0 +1,83 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.dto.GRNCreateRequest;
+import com.plant.procurement.procurement.dto.GRNLineRequest;
+import com.plant.procurement.procurement.dto.GoodsReceiptResponse;
+import com.plant.procurement.procurement.dto.PurchaseOrderCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purchase order creation from a purchase requisition and goods receipt
+ * against a purchase order, each of {@code lines} lines over a catalogue of
+ * {@code items} items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProcurementBenchmark {
+
+    @Param({"500", "5000"})
+    public int items;
+
+    @Param({"10", "50"})
+    public int lines;
+
+    private BenchmarkFixture fixture;
+    private ProcurementService procurementService;
+    private PurchaseOrderCreateRequest poRequest;
+    private GRNCreateRequest grnRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixture.start(items);
+        procurementService = fixture.bean(ProcurementService.class);
+
+        poRequest = fixture.purchaseOrderRequest(fixture.purchaseRequisition(lines, 10.0), 10.0);
+
+        // Each invocation receives one unit per line; the order never fills up,
+        // and the line totals still fit the amount column
+        PurchaseOrderResponse po = fixture.purchaseOrder(lines, 1.0e9);
+        grnRequest = new GRNCreateRequest(
+                po.id(),
+                "bench",
+                null,
+                null,
+                po.lines().stream()
+                        .map(line -> new GRNLineRequest(line.id(), line.item().id(), 1.0))
+                        .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public PurchaseOrderResponse createPO() {
+        return procurementService.createPO(poRequest);
+    }
+
+    @Benchmark
+    public GoodsReceiptResponse createGRN() {
+        return procurementService.createGRN(grnRequest);
+    }
+}
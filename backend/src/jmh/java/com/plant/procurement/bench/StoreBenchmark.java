@@ -0,0 +1,83 @@
+package com.plant.procurement.bench;
+
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.StoreStock;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store issue creation and the stock availability check, against an
+ * approved requisition of {@code lines} lines over a catalogue of
+ * {@code items} stocked items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StoreBenchmark {
+
+    @Param({"500", "5000"})
+    public int items;
+
+    @Param({"10", "50"})
+    public int lines;
+
+    private BenchmarkFixture fixture;
+    private StoreService storeService;
+    private StoreIssueCreateRequest issueRequest;
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixture.start(items);
+        storeService = fixture.bean(StoreService.class);
+
+        // Each invocation issues one unit per line; the requisition never runs out
+        RequisitionResponse requisition = fixture.approvedRequisition(lines, BenchmarkFixture.PLENTY);
+        issueRequest = new StoreIssueCreateRequest(
+                requisition.id(),
+                "bench",
+                null,
+                null,
+                requisition.lines().stream()
+                        .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                        .toList());
+        itemIds = fixture.items(lines).stream().map(Item::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public StoreIssueResponse createIssue() {
+        return storeService.createIssue(issueRequest);
+    }
+
+    @Benchmark
+    public List<StoreStock> checkStockAvailability() {
+        return storeService.checkStockAvailability(itemIds);
+    }
+}
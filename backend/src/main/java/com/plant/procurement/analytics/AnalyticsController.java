@@ -0,0 +1,32 @@
+package com.plant.procurement.analytics;
+
+import com.plant.procurement.analytics.dto.ConsumptionResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final ConsumptionService consumptionService;
+
+    public AnalyticsController(ConsumptionService consumptionService) {
+        this.consumptionService = consumptionService;
+    }
+
+    /**
+     * Net consumption (issued minus returned) per month, item and department.
+     * {@code from}/{@code to} are inclusive months, e.g. {@code 2024-04}.
+     */
+    @GetMapping("/consumption")
+    public List<ConsumptionResponse> consumption(
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return consumptionService.findConsumption(itemId, departmentId, from, to);
+    }
+}
@@ -0,0 +1,9 @@
+package com.plant.procurement.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Quantity of one item moved for one department on one document date.
+ */
+public record ConsumptionEntry(Long itemId, Long departmentId, LocalDate date, Double quantity) {
+}
@@ -0,0 +1,33 @@
+package com.plant.procurement.analytics;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Issued and returned quantity per item, department and month, maintained
+ * incrementally by {@link ConsumptionService} as issues and returns are
+ * posted. Derived data: it can be rebuilt from the line tables at any time.
+ */
+@Entity
+@Table(name = "consumption_rollups", indexes = {
+        @Index(name = "idx_consumption_rollups_period", columnList = "period_start"),
+        @Index(name = "idx_consumption_rollups_department", columnList = "department_id, period_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConsumptionRollup {
+
+    @EmbeddedId
+    private ConsumptionRollupId id;
+
+    @Column(name = "issued_quantity", nullable = false)
+    private double issuedQuantity;
+
+    @Column(name = "returned_quantity", nullable = false)
+    private double returnedQuantity;
+}
@@ -0,0 +1,29 @@
+package com.plant.procurement.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumptionRollupId implements Serializable {
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "department_id", nullable = false)
+    private Long departmentId;
+
+    /**
+     * First day of the month the quantities belong to.
+     */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+}
@@ -0,0 +1,48 @@
+package com.plant.procurement.analytics;
+
+import com.plant.procurement.analytics.dto.ConsumptionResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ConsumptionRollupRepository extends JpaRepository<ConsumptionRollup, ConsumptionRollupId> {
+
+    @Query("""
+            select new com.plant.procurement.analytics.dto.ConsumptionResponse(
+                r.id.periodStart, i.id, i.code, i.description, i.uom, d.id, d.code, d.name,
+                r.issuedQuantity, r.returnedQuantity, r.issuedQuantity - r.returnedQuantity)
+            from ConsumptionRollup r
+            join Item i on i.id = r.id.itemId
+            join Department d on d.id = r.id.departmentId
+            where (:itemId is null or r.id.itemId = :itemId)
+              and (:departmentId is null or r.id.departmentId = :departmentId)
+              and (:fromPeriod is null or r.id.periodStart >= :fromPeriod)
+              and (:toPeriod is null or r.id.periodStart <= :toPeriod)
+            order by r.id.periodStart, i.code, d.code
+            """)
+    List<ConsumptionResponse> findConsumption(@Param("itemId") Long itemId,
+                                              @Param("departmentId") Long departmentId,
+                                              @Param("fromPeriod") LocalDate fromPeriod,
+                                              @Param("toPeriod") LocalDate toPeriod);
+
+    @Query("""
+            select new com.plant.procurement.analytics.ConsumptionEntry(
+                l.item.id, si.department.id, coalesce(si.issueDate, cast(si.createdAt as LocalDate)), sum(l.issuedQuantity))
+            from StoreIssueLine l
+            join l.storeIssue si
+            group by l.item.id, si.department.id, coalesce(si.issueDate, cast(si.createdAt as LocalDate))
+            """)
+    List<ConsumptionEntry> sumIssuedByDay();
+
+    @Query("""
+            select new com.plant.procurement.analytics.ConsumptionEntry(
+                l.item.id, sr.department.id, coalesce(sr.returnDate, cast(sr.createdAt as LocalDate)), sum(l.returnedQuantity))
+            from StoreReturnLine l
+            join l.storeReturn sr
+            group by l.item.id, sr.department.id, coalesce(sr.returnDate, cast(sr.createdAt as LocalDate))
+            """)
+    List<ConsumptionEntry> sumReturnedByDay();
+}
@@ -0,0 +1,161 @@
+package com.plant.procurement.analytics;
+
+import com.plant.procurement.analytics.dto.ConsumptionResponse;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains {@code consumption_rollups} and answers consumption queries from
+ * it. Issues and returns add their quantities in the same transaction that
+ * posts the document, so the rollup commits (or rolls back) with it.
+ */
+@Service
+public class ConsumptionService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumptionService.class);
+
+    /**
+     * PostgreSQL: ON CONFLICT takes the row lock or inserts atomically, so
+     * concurrent first postings of a key cannot both insert it.
+     */
+    private static final String UPSERT_POSTGRESQL = """
+            insert into consumption_rollups (item_id, department_id, period_start, issued_quantity, returned_quantity)
+            values (?, ?, ?, ?, ?)
+            on conflict (period_start, department_id, item_id) do update
+            set issued_quantity = consumption_rollups.issued_quantity + excluded.issued_quantity,
+                returned_quantity = consumption_rollups.returned_quantity + excluded.returned_quantity""";
+    /** H2 (development and tests) has no ON CONFLICT ... DO UPDATE outside PostgreSQL mode. */
+    private static final String UPSERT_MERGE = """
+            merge into consumption_rollups r
+            using (values (cast(? as bigint), cast(? as bigint), cast(? as date),
+                    cast(? as double precision), cast(? as double precision)))
+                as s (item_id, department_id, period_start, issued_quantity, returned_quantity)
+            on r.period_start = s.period_start and r.department_id = s.department_id and r.item_id = s.item_id
+            when matched then update
+                set issued_quantity = r.issued_quantity + s.issued_quantity,
+                    returned_quantity = r.returned_quantity + s.returned_quantity
+            when not matched then insert (item_id, department_id, period_start, issued_quantity, returned_quantity)
+                values (s.item_id, s.department_id, s.period_start, s.issued_quantity, s.returned_quantity)""";
+
+    private final ConsumptionRollupRepository rollupRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final String upsert;
+
+    public ConsumptionService(ConsumptionRollupRepository rollupRepository,
+                              EntityManager entityManager,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        boolean postgres = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()).toLowerCase(Locale.ROOT).contains("postgres");
+        this.upsert = postgres ? UPSERT_POSTGRESQL : UPSERT_MERGE;
+    }
+
+    @Transactional
+    public void recordIssued(Long departmentId, LocalDate date, Map<Long, Double> quantitiesByItemId) {
+        apply(true, departmentId, date, quantitiesByItemId);
+    }
+
+    @Transactional
+    public void recordReturned(Long departmentId, LocalDate date, Map<Long, Double> quantitiesByItemId) {
+        apply(false, departmentId, date, quantitiesByItemId);
+    }
+
+    /**
+     * Consumption per month, item and department, optionally narrowed by item,
+     * department and an inclusive month range.
+     */
+    @Transactional(readOnly = true)
+    public List<ConsumptionResponse> findConsumption(Long itemId, Long departmentId, YearMonth from, YearMonth to) {
+        return rollupRepository.findConsumption(
+                itemId,
+                departmentId,
+                from != null ? from.atDay(1) : null,
+                to != null ? to.atDay(1) : null);
+    }
+
+    /**
+     * Fills an empty rollup from the issue and return line tables, e.g. on the
+     * first start after the table was introduced. Runs once all singletons
+     * exist and before the web server starts, so no posting can land between
+     * the sums and their insert and be counted twice.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        transaction.executeWithoutResult(status -> rebuildIfEmpty());
+    }
+
+    void rebuildIfEmpty() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        Map<ConsumptionRollupId, double[]> totals = new HashMap<>();
+        for (ConsumptionEntry entry : rollupRepository.sumIssuedByDay()) {
+            totals.computeIfAbsent(keyOf(entry), k -> new double[2])[0] += entry.quantity();
+        }
+        for (ConsumptionEntry entry : rollupRepository.sumReturnedByDay()) {
+            totals.computeIfAbsent(keyOf(entry), k -> new double[2])[1] += entry.quantity();
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((id, q) -> rows.add(new Object[]{
+                id.getItemId(), id.getDepartmentId(), Date.valueOf(id.getPeriodStart()), q[0], q[1]}));
+        jdbcTemplate.batchUpdate(upsert, rows);
+        log.info("Rebuilt {} consumption rollup rows", rows.size());
+    }
+
+    /**
+     * Adds each item's quantity to its row with one batched upsert, in item id
+     * order so concurrent postings lock rows in the same order. A missing row
+     * is inserted by the same statement, so no other row needs locking first.
+     */
+    private void apply(boolean issued, Long departmentId, LocalDate date, Map<Long, Double> quantitiesByItemId) {
+        List<Map.Entry<Long, Double>> increments = new TreeMap<>(quantitiesByItemId).entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .toList();
+        if (increments.isEmpty()) {
+            return;
+        }
+        Date periodStart = Date.valueOf(YearMonth.from(date).atDay(1));
+
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(upsert, increments, increments.size(),
+                (ps, e) -> {
+                    ps.setLong(1, e.getKey());
+                    ps.setLong(2, departmentId);
+                    ps.setDate(3, periodStart);
+                    ps.setDouble(4, issued ? e.getValue() : 0.0);
+                    ps.setDouble(5, issued ? 0.0 : e.getValue());
+                });
+    }
+
+    private static ConsumptionRollupId keyOf(ConsumptionEntry entry) {
+        return new ConsumptionRollupId(entry.itemId(), entry.departmentId(),
+                YearMonth.from(entry.date()).atDay(1));
+    }
+}
@@ -0,0 +1,18 @@
+package com.plant.procurement.analytics.dto;
+
+import java.time.LocalDate;
+
+public record ConsumptionResponse(
+        LocalDate periodStart,
+        Long itemId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Long departmentId,
+        String departmentCode,
+        String departmentName,
+        Double issuedQuantity,
+        Double returnedQuantity,
+        Double netQuantity
+) {
+}
@@ -0,0 +1,143 @@
+package com.plant.procurement.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the number of {@code /api/**} requests in progress at once, by
+ * default to the size of the Hikari connection pool.
+ * <p>
+ * With virtual threads every request gets its own thread, so the Tomcat
+ * thread pool no longer caps how many requests reach the datasource at the
+ * same time; without a limit, a burst of issues would pile up on the pool
+ * and fail with connection timeouts. Requests beyond the limit wait on a
+ * fair semaphore, which parks a virtual thread without holding a carrier,
+ * and get {@code 503} with {@code Retry-After} when no permit frees up
+ * within {@code acquire-timeout}. A request that goes async, such as a
+ * streamed export, keeps its permit until the async part completes, since
+ * that is where it holds a connection.
+ * <p>
+ * The project targets Java 17, where {@code spring.threads.virtual.enabled}
+ * has no effect; the limiter works the same with platform threads, and its
+ * effect under virtual threads has not been measured.
+ */
+@Component
+@ConditionalOnProperty(name = "procurement.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimitFilter(DataSource dataSource,
+                                  @Value("${procurement.concurrency-limit.max-concurrent:0}") int maxConcurrent,
+                                  @Value("${procurement.concurrency-limit.acquire-timeout:PT10S}") Duration acquireTimeout) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : poolSize(dataSource);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        log.info("Limiting concurrent API requests to {}", this.maxConcurrent);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Rejected {} {}: {} requests already in progress",
+                    request.getMethod(), request.getRequestURI(), maxConcurrent);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit once the async part ends; an error or timeout is
+     * followed by completion, so only the first event releases it.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * The pool's maximum size, or Hikari's default of 10 for any other
+     * datasource.
+     */
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,67 @@
+package com.plant.procurement.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs an {@code IN (...)} query over an arbitrarily large id collection by
+ * splitting it into chunks no larger than the dialect allows.
+ */
+@Component
+public class InClauseChunker {
+
+    /**
+     * Used when the dialect reports no limit; keeps statements and their
+     * plans a reasonable size.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int chunkSize;
+
+    public InClauseChunker(EntityManagerFactory entityManagerFactory) {
+        int limit = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getInExpressionCountLimit();
+        this.chunkSize = limit > 0 ? Math.min(limit, DEFAULT_CHUNK_SIZE) : DEFAULT_CHUNK_SIZE;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Applies {@code query} to distinct ids chunk by chunk and concatenates
+     * the results. Result order is whatever the query returns.
+     */
+    public <T, R> List<R> fetch(Collection<T> ids, Function<List<T>, List<R>> query) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() <= chunkSize) {
+            return distinct.isEmpty() ? List.of() : query.apply(distinct);
+        }
+        List<R> results = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            results.addAll(query.apply(distinct.subList(from, Math.min(from + chunkSize, distinct.size()))));
+        }
+        return results;
+    }
+
+    /**
+     * Runs a bulk {@code UPDATE ... WHERE id IN (...)} chunk by chunk and
+     * returns the total row count.
+     */
+    public <T> int update(Collection<T> ids, ToIntFunction<List<T>> statement) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int updated = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            updated += statement.applyAsInt(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+        return updated;
+    }
+}
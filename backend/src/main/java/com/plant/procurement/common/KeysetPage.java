@@ -0,0 +1,64 @@
+package com.plant.procurement.common;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list plus the cursor for the next page
+ * ({@code null} when this is the last page).
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Builds a page from a query that was asked for {@code limit + 1} rows;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Body is the plain item array; the next cursor travels in the
+     * {@value #NEXT_CURSOR_HEADER} header, which clients that need the full
+     * list follow until it is absent.
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(items);
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static OffsetDateTime startOfDay(LocalDate date) {
+        return date != null ? date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime() : null;
+    }
+
+    public static OffsetDateTime startOfNextDay(LocalDate date) {
+        return date != null ? startOfDay(date.plusDays(1)) : null;
+    }
+}
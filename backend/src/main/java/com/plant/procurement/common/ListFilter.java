@@ -0,0 +1,48 @@
+package com.plant.procurement.common;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Common filters for document list endpoints. {@code from}/{@code to} are
+ * inclusive calendar dates matched against {@code createdAt}.
+ */
+public record ListFilter<S extends Enum<S>>(
+        S status,
+        Long departmentId,
+        LocalDate from,
+        LocalDate to,
+        KeysetCursor cursor,
+        int limit
+) {
+
+    public static <S extends Enum<S>> ListFilter<S> of(S status, Long departmentId,
+                                                       LocalDate from, LocalDate to,
+                                                       String cursor, Integer limit) {
+        return new ListFilter<>(status, departmentId, from, to,
+                KeysetCursor.decode(cursor), KeysetPage.clampLimit(limit));
+    }
+
+    /**
+     * The same filter for documents that have no status.
+     */
+    public ListFilter<S> withoutStatus() {
+        return status == null ? this : new ListFilter<>(null, departmentId, from, to, cursor, limit);
+    }
+
+    public OffsetDateTime createdFrom() {
+        return KeysetPage.startOfDay(from);
+    }
+
+    public OffsetDateTime createdBefore() {
+        return KeysetPage.startOfNextDay(to);
+    }
+
+    public OffsetDateTime cursorCreatedAt() {
+        return cursor != null ? cursor.createdAt() : null;
+    }
+
+    public Long cursorId() {
+        return cursor != null ? cursor.id() : null;
+    }
+}
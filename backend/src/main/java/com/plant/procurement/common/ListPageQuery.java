@@ -0,0 +1,76 @@
+package com.plant.procurement.common;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a keyset list page, newest first, narrowed by the {@link ListFilter}
+ * fields that are actually set.
+ * <p>
+ * Only set filters become predicates: a catch-all such as
+ * {@code (:status is null or x.status = :status)} cannot be used as an index
+ * condition, so a filtered page would walk the unfiltered
+ * {@code (created_at, id)} index instead of the {@code (status, created_at,
+ * id)} or {@code (department_id, created_at, id)} one. At most a few dozen
+ * JPQL variants exist per list, each parsed once by Hibernate's plan cache.
+ */
+@Component
+public class ListPageQuery {
+
+    private final EntityManager entityManager;
+
+    public ListPageQuery(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param select the select and from clauses, without where or order by;
+     *               may fetch-join to-one associations
+     * @param alias  the alias of the listed document in {@code select}; it has
+     *               {@code createdAt}, {@code id}, {@code department} and,
+     *               when {@code filter.status()} is set, {@code status}
+     * @return up to {@code filter.limit() + 1} rows, for {@link KeysetPage#of}
+     */
+    public <T> List<T> fetch(String select, Class<T> type, String alias, ListFilter<?> filter) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filter.status() != null) {
+            predicates.add(alias + ".status = :status");
+            parameters.put("status", filter.status());
+        }
+        if (filter.departmentId() != null) {
+            predicates.add(alias + ".department.id = :departmentId");
+            parameters.put("departmentId", filter.departmentId());
+        }
+        if (filter.createdFrom() != null) {
+            predicates.add(alias + ".createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdBefore() != null) {
+            predicates.add(alias + ".createdAt < :createdBefore");
+            parameters.put("createdBefore", filter.createdBefore());
+        }
+        if (filter.cursor() != null) {
+            predicates.add("(" + alias + ".createdAt < :cursorCreatedAt or ("
+                    + alias + ".createdAt = :cursorCreatedAt and " + alias + ".id < :cursorId))");
+            parameters.put("cursorCreatedAt", filter.cursorCreatedAt());
+            parameters.put("cursorId", filter.cursorId());
+        }
+
+        StringBuilder jpql = new StringBuilder(select);
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by ").append(alias).append(".createdAt desc, ").append(alias).append(".id desc");
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(filter.limit() + 1).getResultList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.plant.procurement.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Domain meters recorded from the service code: lines per created document,
+ * insufficient-stock rejections and the below-reorder-level item count.
+ * <p>
+ * Every meter is registered up front and its tags are fixed, so recording is
+ * a plain call on a held meter. With {@code procurement.metrics.enabled}
+ * off nothing is registered and each record call returns on a field check.
+ * Service call timings come from {@link ServiceTimingAspect}.
+ */
+@Component
+public class ProcurementMetrics {
+
+    /**
+     * Document kinds whose line counts are summarised, tagged by
+     * {@link #tag}.
+     */
+    public enum Document {
+        REQUISITION("requisition"),
+        PURCHASE_REQUISITION("purchase_requisition"),
+        PURCHASE_ORDER("purchase_order"),
+        GOODS_RECEIPT("goods_receipt"),
+        STORE_ISSUE("store_issue"),
+        STORE_RETURN("store_return");
+
+        private final String tag;
+
+        Document(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary[] documentLines;
+    private final Counter insufficientStock;
+
+    public ProcurementMetrics(MeterRegistry meterRegistry,
+                              @Value("${procurement.metrics.enabled:true}") boolean enabled) {
+        if (!enabled) {
+            this.meterRegistry = null;
+            this.documentLines = null;
+            this.insufficientStock = null;
+            return;
+        }
+        this.meterRegistry = meterRegistry;
+        Document[] documents = Document.values();
+        this.documentLines = new DistributionSummary[documents.length];
+        for (Document document : documents) {
+            documentLines[document.ordinal()] = DistributionSummary.builder("procurement.document.lines")
+                    .description("Lines per created document")
+                    .baseUnit("lines")
+                    .tag("document", document.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry);
+        }
+        this.insufficientStock = Counter.builder("procurement.store.insufficient.stock")
+                .description("Issue lines rejected for insufficient stock")
+                .register(meterRegistry);
+    }
+
+    public void recordLines(Document document, int lines) {
+        if (documentLines != null) {
+            documentLines[document.ordinal()].record(lines);
+        }
+    }
+
+    public void recordInsufficientStock() {
+        if (insufficientStock != null) {
+            insufficientStock.increment();
+        }
+    }
+
+    /**
+     * Publishes the number of active items below their reorder level, read
+     * from the live alert set on each scrape.
+     */
+    public void gaugeBelowReorderLevel(Supplier<Number> count) {
+        if (meterRegistry != null) {
+            Gauge.builder("procurement.store.below.reorder", count)
+                    .description("Active items whose available stock is below their reorder level")
+                    .baseUnit("items")
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+}
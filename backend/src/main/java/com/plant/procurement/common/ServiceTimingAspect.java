@@ -0,0 +1,89 @@
+package com.plant.procurement.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the requisition, store and procurement
+ * services as {@code procurement.service}, tagged with the service, the
+ * operation (method name) and the outcome: {@code success}, {@code rejected}
+ * for the {@link IllegalArgumentException} / {@link IllegalStateException}
+ * the services raise on invalid requests, or {@code error} for anything
+ * else.
+ * <p>
+ * Timers are looked up once per method and kept, so a timed call records a
+ * duration on a held timer. The aspect is only created when
+ * {@code procurement.metrics.enabled} is on; otherwise the services carry
+ * no timing advice at all. Only calls through the Spring proxy are timed,
+ * not a service's calls to its own methods.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "procurement.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceTimingAspect {
+
+    private static final int SUCCESS = 0;
+    private static final int REJECTED = 1;
+    private static final int ERROR = 2;
+    private static final String[] OUTCOMES = {"success", "rejected", "error"};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * *(..)) && ("
+            + "within(com.plant.procurement.requisition.RequisitionService)"
+            + " || within(com.plant.procurement.store.StoreService)"
+            + " || within(com.plant.procurement.procurement.ProcurementService))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer[] byOutcome = timersFor(((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        int outcome = ERROR;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = SUCCESS;
+            return result;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            outcome = REJECTED;
+            throw e;
+        } finally {
+            byOutcome[outcome].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] timersFor(Method method) {
+        Timer[] byOutcome = timers.get(method);
+        if (byOutcome == null) {
+            byOutcome = timers.computeIfAbsent(method, this::register);
+        }
+        return byOutcome;
+    }
+
+    private Timer[] register(Method method) {
+        Timer[] byOutcome = new Timer[OUTCOMES.length];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            byOutcome[i] = Timer.builder("procurement.service")
+                    .description("Service operation latency")
+                    .tag("service", method.getDeclaringClass().getSimpleName())
+                    .tag("operation", method.getName())
+                    .tag("outcome", OUTCOMES[i])
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return byOutcome;
+    }
+}
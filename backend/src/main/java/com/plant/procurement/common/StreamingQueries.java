@@ -0,0 +1,14 @@
+package com.plant.procurement.common;
+
+/**
+ * Settings shared by repository methods that return a {@code Stream}. The
+ * fetch size bounds how many rows the driver buffers per round trip, so a
+ * consumer that writes each row out as it arrives holds only one batch.
+ */
+public final class StreamingQueries {
+
+    public static final String FETCH_SIZE = "500";
+
+    private StreamingQueries() {
+    }
+}
@@ -0,0 +1,49 @@
+package com.plant.procurement.export;
+
+import com.plant.procurement.common.ListFilter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Streams every line of the given document type as NDJSON (default) or
+     * CSV, optionally filtered by department and creation date.
+     */
+    @GetMapping("/{document}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String document,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportDocument exportDocument = ExportDocument.fromPath(document).orElse(null);
+        if (exportDocument == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ListFilter<?> filter = ListFilter.of(null, departmentId, from, to, null, null);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportDocument.path() + "." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(exportService.export(exportDocument, exportFormat, filter));
+    }
+}
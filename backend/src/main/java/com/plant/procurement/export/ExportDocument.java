@@ -0,0 +1,43 @@
+package com.plant.procurement.export;
+
+import com.plant.procurement.procurement.GoodsReceiptExportRow;
+import com.plant.procurement.procurement.PurchaseOrderExportRow;
+import com.plant.procurement.requisition.RequisitionExportRow;
+import com.plant.procurement.store.StoreIssueExportRow;
+import com.plant.procurement.store.StoreReturnExportRow;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Exportable document types, keyed by their URL path segment. Each exports
+ * one row per document line, typed by {@link #rowType()}.
+ */
+public enum ExportDocument {
+
+    REQUISITIONS("requisitions", RequisitionExportRow.class),
+    ISSUES("issues", StoreIssueExportRow.class),
+    RETURNS("returns", StoreReturnExportRow.class),
+    PURCHASE_ORDERS("purchase-orders", PurchaseOrderExportRow.class),
+    GRNS("grns", GoodsReceiptExportRow.class);
+
+    private final String path;
+    private final Class<? extends Record> rowType;
+
+    ExportDocument(String path, Class<? extends Record> rowType) {
+        this.path = path;
+        this.rowType = rowType;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public Class<? extends Record> rowType() {
+        return rowType;
+    }
+
+    public static Optional<ExportDocument> fromPath(String path) {
+        return Arrays.stream(values()).filter(d -> d.path.equals(path)).findFirst();
+    }
+}
@@ -0,0 +1,87 @@
+package com.plant.procurement.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.procurement.GoodsReceiptRepository;
+import com.plant.procurement.procurement.PurchaseOrderRepository;
+import com.plant.procurement.requisition.RequisitionRepository;
+import com.plant.procurement.store.StoreIssueRepository;
+import com.plant.procurement.store.StoreReturnRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Streams document lines straight from a JDBC cursor to the response. Rows
+ * are flat projections, so nothing accumulates in the persistence context,
+ * and each row is written as soon as it is read; heap use does not grow with
+ * the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RequisitionRepository requisitionRepository;
+    private final StoreIssueRepository storeIssueRepository;
+    private final StoreReturnRepository storeReturnRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final GoodsReceiptRepository goodsReceiptRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(RequisitionRepository requisitionRepository,
+                         StoreIssueRepository storeIssueRepository,
+                         StoreReturnRepository storeReturnRepository,
+                         PurchaseOrderRepository purchaseOrderRepository,
+                         GoodsReceiptRepository goodsReceiptRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.requisitionRepository = requisitionRepository;
+        this.storeIssueRepository = storeIssueRepository;
+        this.storeReturnRepository = storeReturnRepository;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.goodsReceiptRepository = goodsReceiptRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The returned body runs on the MVC async executor after the controller
+     * returns, so it opens its own read-only transaction to keep the cursor
+     * open while rows are written.
+     */
+    public StreamingResponseBody export(ExportDocument document, ExportFormat format, ListFilter<?> filter) {
+        return outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            RecordExportWriter writer = new RecordExportWriter(format, document.rowType(), objectMapper, out);
+            writer.writeHeader();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<? extends Record> rows = openRows(document, filter)) {
+                    rows.forEach(writer::write);
+                }
+            });
+            out.flush();
+        };
+    }
+
+    private Stream<? extends Record> openRows(ExportDocument document, ListFilter<?> filter) {
+        return switch (document) {
+            case REQUISITIONS -> requisitionRepository.streamExportRows(
+                    filter.departmentId(), filter.createdFrom(), filter.createdBefore());
+            case ISSUES -> storeIssueRepository.streamExportRows(
+                    filter.departmentId(), filter.createdFrom(), filter.createdBefore());
+            case RETURNS -> storeReturnRepository.streamExportRows(
+                    filter.departmentId(), filter.createdFrom(), filter.createdBefore());
+            case PURCHASE_ORDERS -> purchaseOrderRepository.streamExportRows(
+                    filter.departmentId(), filter.createdFrom(), filter.createdBefore());
+            case GRNS -> goodsReceiptRepository.streamExportRows(
+                    filter.departmentId(), filter.createdFrom(), filter.createdBefore());
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.plant.procurement.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes rows of one record type to a stream, one line per row, as NDJSON or
+ * CSV. CSV columns are the record components in declaration order, preceded
+ * by a header line. Nothing is buffered beyond the current row.
+ */
+final class RecordExportWriter {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final ExportFormat format;
+    private final OutputStream out;
+    private final ObjectWriter jsonWriter;
+    private final RecordComponent[] components;
+    private final Method[] accessors;
+
+    RecordExportWriter(ExportFormat format, Class<? extends Record> rowType,
+                       ObjectMapper objectMapper, OutputStream out) {
+        this.format = format;
+        this.out = out;
+        this.jsonWriter = objectMapper.writerFor(rowType);
+        this.components = rowType.getRecordComponents();
+        this.accessors = new Method[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+        }
+    }
+
+    void writeHeader() {
+        if (format != ExportFormat.CSV) {
+            return;
+        }
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(components[i].getName());
+        }
+        writeLine(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    void write(Object row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writeLine(jsonWriter.writeValueAsBytes(row));
+            } else {
+                writeLine(toCsv(row).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(Object row) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < accessors.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value;
+            try {
+                value = accessors[i].invoke(row);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read export column " + components[i].getName(), e);
+            }
+            if (value != null) {
+                appendCsvValue(line, value.toString());
+            }
+        }
+        return line.toString();
+    }
+
+    private static void appendCsvValue(StringBuilder line, String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void writeLine(byte[] bytes) {
+        try {
+            out.write(bytes);
+            out.write(NEWLINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
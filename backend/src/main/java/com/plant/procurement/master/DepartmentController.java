@@ -24,10 +24,13 @@ public class DepartmentController {
 
     private final DepartmentRepository repository;
     private final DepartmentMapper mapper;
+    private final MasterDataCache masterDataCache;
 
-    public DepartmentController(DepartmentRepository repository, DepartmentMapper mapper) {
+    public DepartmentController(DepartmentRepository repository, DepartmentMapper mapper,
+                                MasterDataCache masterDataCache) {
         this.repository = repository;
         this.mapper = mapper;
+        this.masterDataCache = masterDataCache;
     }
 
     @GetMapping
@@ -67,6 +70,7 @@ public class DepartmentController {
                     existing.setName(request.name());
                     existing.setActive(request.active() != null ? request.active() : existing.isActive());
                     Department saved = repository.save(existing);
+                    masterDataCache.evictDepartment(id);
                     return ResponseEntity.ok(mapper.toResponse(saved));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -78,6 +82,7 @@ public class DepartmentController {
             return ResponseEntity.notFound().build();
         }
         repository.deleteById(id);
+        masterDataCache.evictDepartment(id);
         return ResponseEntity.noContent().build();
     }
 }
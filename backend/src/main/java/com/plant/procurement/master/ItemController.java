@@ -3,7 +3,9 @@ package com.plant.procurement.master;
 import com.plant.procurement.master.dto.ItemMapper;
 import com.plant.procurement.master.dto.ItemRequest;
 import com.plant.procurement.master.dto.ItemResponse;
+import com.plant.procurement.store.StockChangedEvent;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,10 +27,16 @@ public class ItemController {
 
     private final ItemRepository repository;
     private final ItemMapper mapper;
+    private final MasterDataCache masterDataCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ItemController(ItemRepository repository, ItemMapper mapper) {
+    public ItemController(ItemRepository repository, ItemMapper mapper,
+                          MasterDataCache masterDataCache,
+                          ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.mapper = mapper;
+        this.masterDataCache = masterDataCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @GetMapping
@@ -56,6 +65,7 @@ public class ItemController {
                 .active(request.active() != null ? request.active() : true)
                 .build();
         Item saved = repository.save(item);
+        eventPublisher.publishEvent(new StockChangedEvent(Set.of(saved.getId())));
         ItemResponse response = mapper.toResponse(saved);
         return ResponseEntity.created(URI.create("/api/items/" + saved.getId()))
                 .body(response);
@@ -73,6 +83,9 @@ public class ItemController {
                     existing.setReorderLevel(request.reorderLevel());
                     existing.setActive(request.active() != null ? request.active() : existing.isActive());
                     Item saved = repository.save(existing);
+                    masterDataCache.evictItem(id);
+                    // Thresholds or the active flag may have changed
+                    eventPublisher.publishEvent(new StockChangedEvent(Set.of(id)));
                     return ResponseEntity.ok(mapper.toResponse(saved));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -84,6 +97,8 @@ public class ItemController {
             return ResponseEntity.notFound().build();
         }
         repository.deleteById(id);
+        masterDataCache.evictItem(id);
+        eventPublisher.publishEvent(new StockChangedEvent(Set.of(id)));
         return ResponseEntity.noContent().build();
     }
 }
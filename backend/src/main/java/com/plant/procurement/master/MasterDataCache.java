@@ -0,0 +1,128 @@
+package com.plant.procurement.master;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through, in-process cache of items, vendors and departments by id, for
+ * the document-creation paths that look up the same master rows line after
+ * line.
+ * <p>
+ * Entries are detached copies and every lookup hands out a fresh copy, so
+ * callers may attach the result to new document lines (only its id is
+ * written) or read it for responses, but never share state with another
+ * request. Missing ids are not cached. The master controllers evict an id
+ * after their update or delete commits; the expiry bounds staleness from
+ * changes made elsewhere, such as by another instance. Hit and miss counts
+ * are published as {@code cache.gets} meters tagged with the cache name.
+ */
+@Component
+public class MasterDataCache {
+
+    private final ItemRepository itemRepository;
+    private final VendorRepository vendorRepository;
+    private final DepartmentRepository departmentRepository;
+    private final Cache<Long, Item> items;
+    private final Cache<Long, Vendor> vendors;
+    private final Cache<Long, Department> departments;
+
+    public MasterDataCache(ItemRepository itemRepository,
+                           VendorRepository vendorRepository,
+                           DepartmentRepository departmentRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${procurement.master.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${procurement.master.cache.expire-after-write:PT30M}") Duration expireAfterWrite) {
+        this.itemRepository = itemRepository;
+        this.vendorRepository = vendorRepository;
+        this.departmentRepository = departmentRepository;
+        this.items = build(maximumSize, expireAfterWrite);
+        this.vendors = build(maximumSize, expireAfterWrite);
+        this.departments = build(maximumSize, expireAfterWrite);
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "master.items");
+        CaffeineCacheMetrics.monitor(meterRegistry, vendors, "master.vendors");
+        CaffeineCacheMetrics.monitor(meterRegistry, departments, "master.departments");
+    }
+
+    public Optional<Item> findItem(Long id) {
+        return find(items, id, key -> itemRepository.findById(key).map(MasterDataCache::copy).orElse(null))
+                .map(MasterDataCache::copy);
+    }
+
+    public Optional<Vendor> findVendor(Long id) {
+        return find(vendors, id, key -> vendorRepository.findById(key).map(MasterDataCache::copy).orElse(null))
+                .map(MasterDataCache::copy);
+    }
+
+    public Optional<Department> findDepartment(Long id) {
+        return find(departments, id, key -> departmentRepository.findById(key).map(MasterDataCache::copy).orElse(null))
+                .map(MasterDataCache::copy);
+    }
+
+    public void evictItem(Long id) {
+        items.invalidate(id);
+    }
+
+    public void evictVendor(Long id) {
+        vendors.invalidate(id);
+    }
+
+    public void evictDepartment(Long id) {
+        departments.invalidate(id);
+    }
+
+    private static <V> Cache<Long, V> build(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    private static <V> Optional<V> find(Cache<Long, V> cache, Long id, Function<Long, V> loader) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    private static Item copy(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .code(item.getCode())
+                .description(item.getDescription())
+                .uom(item.getUom())
+                .minStock(item.getMinStock())
+                .reorderLevel(item.getReorderLevel())
+                .active(item.isActive())
+                .build();
+    }
+
+    private static Vendor copy(Vendor vendor) {
+        return Vendor.builder()
+                .id(vendor.getId())
+                .code(vendor.getCode())
+                .name(vendor.getName())
+                .gstNumber(vendor.getGstNumber())
+                .contactEmail(vendor.getContactEmail())
+                .contactPhone(vendor.getContactPhone())
+                .active(vendor.isActive())
+                .build();
+    }
+
+    private static Department copy(Department department) {
+        return Department.builder()
+                .id(department.getId())
+                .code(department.getCode())
+                .name(department.getName())
+                .active(department.isActive())
+                .build();
+    }
+}
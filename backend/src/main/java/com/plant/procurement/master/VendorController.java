@@ -24,10 +24,13 @@ public class VendorController {
 
     private final VendorRepository repository;
     private final VendorMapper mapper;
+    private final MasterDataCache masterDataCache;
 
-    public VendorController(VendorRepository repository, VendorMapper mapper) {
+    public VendorController(VendorRepository repository, VendorMapper mapper,
+                            MasterDataCache masterDataCache) {
         this.repository = repository;
         this.mapper = mapper;
+        this.masterDataCache = masterDataCache;
     }
 
     @GetMapping
@@ -73,6 +76,7 @@ public class VendorController {
                     existing.setContactPhone(request.contactPhone());
                     existing.setActive(request.active() != null ? request.active() : existing.isActive());
                     Vendor saved = repository.save(existing);
+                    masterDataCache.evictVendor(id);
                     return ResponseEntity.ok(mapper.toResponse(saved));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -84,6 +88,7 @@ public class VendorController {
             return ResponseEntity.notFound().build();
         }
         repository.deleteById(id);
+        masterDataCache.evictVendor(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,11 +1,15 @@
 package com.plant.procurement.master;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface VendorRepository extends JpaRepository<Vendor, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Vendor> findByCodeIgnoreCase(String code);
 }
 
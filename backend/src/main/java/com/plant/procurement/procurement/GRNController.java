@@ -1,11 +1,15 @@
 package com.plant.procurement.procurement;
 
+import com.plant.procurement.common.ListFilter;
 import com.plant.procurement.procurement.dto.GRNCreateRequest;
+import com.plant.procurement.procurement.dto.GoodsReceiptResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,29 +18,40 @@ public class GRNController {
 
     private final GoodsReceiptRepository repository;
     private final ProcurementService service;
+    private final GoodsReceiptMapper mapper;
 
     public GRNController(GoodsReceiptRepository repository,
-                        ProcurementService service) {
+                        ProcurementService service,
+                        GoodsReceiptMapper mapper) {
         this.repository = repository;
         this.service = service;
+        this.mapper = mapper;
     }
 
     @GetMapping
-    public List<GoodsReceipt> list() {
-        return repository.findAll();
+    public ResponseEntity<List<GoodsReceiptResponse>> list(
+            @RequestParam(required = false) GRNStatus status,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.listGRNs(ListFilter.of(status, departmentId, from, to, cursor, limit))
+                .toResponseEntity();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<GoodsReceipt> get(@PathVariable Long id) {
+    public ResponseEntity<GoodsReceiptResponse> get(@PathVariable Long id) {
         return repository.findById(id)
+                .map(mapper::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<GoodsReceipt> create(@Valid @RequestBody GRNCreateRequest request) {
-        GoodsReceipt created = service.createGRN(request);
-        return ResponseEntity.created(URI.create("/api/grns/" + created.getId()))
+    public ResponseEntity<GoodsReceiptResponse> create(@Valid @RequestBody GRNCreateRequest request) {
+        GoodsReceiptResponse created = service.createGRN(request);
+        return ResponseEntity.created(URI.create("/api/grns/" + created.id()))
                 .body(created);
     }
 }
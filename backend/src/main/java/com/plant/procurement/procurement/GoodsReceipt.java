@@ -22,7 +22,8 @@ import java.util.List;
 public class GoodsReceipt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goods_receipts_seq")
+    @SequenceGenerator(name = "goods_receipts_seq", sequenceName = "goods_receipts_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
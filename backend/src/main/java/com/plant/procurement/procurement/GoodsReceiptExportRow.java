@@ -0,0 +1,29 @@
+package com.plant.procurement.procurement;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * One GRN line with its header fields, as written by the export.
+ */
+public record GoodsReceiptExportRow(
+        Long grnId,
+        String grnNumber,
+        GRNStatus status,
+        LocalDate receiptDate,
+        Long purchaseOrderId,
+        String poNumber,
+        String vendorCode,
+        String vendorName,
+        String departmentCode,
+        String receivedBy,
+        OffsetDateTime createdAt,
+        Long lineId,
+        Long purchaseOrderLineId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double orderedQuantity,
+        Double receivedQuantity
+) {
+}
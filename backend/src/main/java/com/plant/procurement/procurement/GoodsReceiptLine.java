@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class GoodsReceiptLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goods_receipt_lines_seq")
+    @SequenceGenerator(name = "goods_receipt_lines_seq", sequenceName = "goods_receipt_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,68 @@
+package com.plant.procurement.procurement;
+
+import com.plant.procurement.master.dto.DepartmentMapper;
+import com.plant.procurement.master.dto.ItemMapper;
+import com.plant.procurement.master.dto.VendorMapper;
+import com.plant.procurement.procurement.dto.GoodsReceiptLineResponse;
+import com.plant.procurement.procurement.dto.GoodsReceiptResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class GoodsReceiptMapper {
+
+    private final PurchaseOrderMapper purchaseOrderMapper;
+    private final VendorMapper vendorMapper;
+    private final DepartmentMapper departmentMapper;
+    private final ItemMapper itemMapper;
+
+    public GoodsReceiptMapper(PurchaseOrderMapper purchaseOrderMapper,
+                              VendorMapper vendorMapper,
+                              DepartmentMapper departmentMapper,
+                              ItemMapper itemMapper) {
+        this.purchaseOrderMapper = purchaseOrderMapper;
+        this.vendorMapper = vendorMapper;
+        this.departmentMapper = departmentMapper;
+        this.itemMapper = itemMapper;
+    }
+
+    public GoodsReceiptResponse toResponse(GoodsReceipt grn) {
+        if (grn == null) {
+            return null;
+        }
+
+        return new GoodsReceiptResponse(
+                grn.getId(),
+                grn.getGrnNumber(),
+                purchaseOrderMapper.toSummaryResponse(grn.getPurchaseOrder()),
+                vendorMapper.toResponse(grn.getVendor()),
+                departmentMapper.toResponse(grn.getDepartment()),
+                grn.getReceivedBy(),
+                grn.getReceiptDate(),
+                grn.getRemarks(),
+                grn.getStatus(),
+                grn.getLines() != null
+                        ? grn.getLines().stream()
+                        .map(this::toLineResponse)
+                        .collect(Collectors.toList())
+                        : null,
+                grn.getCreatedAt(),
+                grn.getUpdatedAt()
+        );
+    }
+
+    private GoodsReceiptLineResponse toLineResponse(GoodsReceiptLine line) {
+        if (line == null) {
+            return null;
+        }
+
+        return new GoodsReceiptLineResponse(
+                line.getId(),
+                line.getPurchaseOrderLine() != null ? line.getPurchaseOrderLine().getId() : null,
+                itemMapper.toResponse(line.getItem()),
+                line.getOrderedQuantity(),
+                line.getReceivedQuantity()
+        );
+    }
+}
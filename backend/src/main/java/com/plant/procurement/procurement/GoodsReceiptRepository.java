@@ -1,17 +1,53 @@
 package com.plant.procurement.procurement;
 
+import com.plant.procurement.common.StreamingQueries;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GoodsReceiptRepository extends JpaRepository<GoodsReceipt, Long> {
 
-    @EntityGraph(attributePaths = {"purchaseOrder", "vendor", "department", "lines", "lines.item", "lines.purchaseOrderLine"})
+    @EntityGraph(attributePaths = {"purchaseOrder", "vendor", "department", "lines", "lines.item"})
     Optional<GoodsReceipt> findById(Long id);
 
     @EntityGraph(attributePaths = {"purchaseOrder", "vendor", "department", "lines", "lines.item"})
     List<GoodsReceipt> findAll();
-}
 
+    @EntityGraph(attributePaths = {"lines", "lines.item"})
+    List<GoodsReceipt> findWithLinesByIdIn(Collection<Long> ids);
+
+    /**
+     * GRN lines with header fields for export, oldest document first. Must be
+     * consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("""
+            select new com.plant.procurement.procurement.GoodsReceiptExportRow(
+                g.id, g.grnNumber, g.status, g.receiptDate, po.id, po.poNumber, v.code, v.name, d.code,
+                g.receivedBy, g.createdAt, l.id, l.purchaseOrderLine.id, i.code, i.description, i.uom,
+                l.orderedQuantity, l.receivedQuantity)
+            from GoodsReceiptLine l
+            join l.goodsReceipt g
+            join g.purchaseOrder po
+            join g.vendor v
+            left join g.department d
+            join l.item i
+            where (:departmentId is null or d.id = :departmentId)
+              and (:createdFrom is null or g.createdAt >= :createdFrom)
+              and (:createdBefore is null or g.createdAt < :createdBefore)
+            order by g.id, l.id
+            """)
+    Stream<GoodsReceiptExportRow> streamExportRows(@Param("departmentId") Long departmentId,
+                                                   @Param("createdFrom") OffsetDateTime createdFrom,
+                                                   @Param("createdBefore") OffsetDateTime createdBefore);
+}
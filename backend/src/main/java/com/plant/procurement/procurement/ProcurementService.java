@@ -1,14 +1,21 @@
 package com.plant.procurement.procurement;
 
+import com.plant.procurement.common.KeysetCursor;
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.common.ListPageQuery;
+import com.plant.procurement.common.ProcurementMetrics;
 import com.plant.procurement.master.Department;
-import com.plant.procurement.master.DepartmentRepository;
 import com.plant.procurement.master.Item;
-import com.plant.procurement.master.ItemRepository;
+import com.plant.procurement.master.MasterDataCache;
 import com.plant.procurement.master.Vendor;
-import com.plant.procurement.master.VendorRepository;
 import com.plant.procurement.procurement.dto.GRNCreateRequest;
+import com.plant.procurement.procurement.dto.GoodsReceiptResponse;
+import com.plant.procurement.procurement.dto.OpenPurchaseOrderLineResponse;
 import com.plant.procurement.procurement.dto.PurchaseOrderCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
 import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
 import com.plant.procurement.requisition.Requisition;
 import com.plant.procurement.requisition.RequisitionRepository;
 import com.plant.procurement.store.StoreService;
@@ -18,39 +25,105 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class ProcurementService {
 
+    /** Order headers; lines are loaded separately for the returned rows only. */
+    private static final String PO_PAGE_SELECT = """
+            select po from PurchaseOrder po
+            left join fetch po.vendor
+            left join fetch po.department""";
+    /** Receipt headers; lines are loaded separately for the returned rows only. */
+    private static final String GRN_PAGE_SELECT = """
+            select g from GoodsReceipt g
+            left join fetch g.purchaseOrder
+            left join fetch g.vendor
+            left join fetch g.department""";
+
     private final PurchaseRequisitionRepository prRepository;
     private final PurchaseOrderRepository poRepository;
+    private final PurchaseOrderLineRepository poLineRepository;
     private final GoodsReceiptRepository grnRepository;
     private final RequisitionRepository requisitionRepository;
-    private final DepartmentRepository departmentRepository;
-    private final ItemRepository itemRepository;
-    private final VendorRepository vendorRepository;
+    private final MasterDataCache masterDataCache;
     private final StoreService storeService;
+    private final PurchaseRequisitionMapper prMapper;
+    private final PurchaseOrderMapper poMapper;
+    private final GoodsReceiptMapper grnMapper;
+    private final ProcurementMetrics procurementMetrics;
+    private final ListPageQuery listPageQuery;
 
     public ProcurementService(PurchaseRequisitionRepository prRepository,
                              PurchaseOrderRepository poRepository,
+                             PurchaseOrderLineRepository poLineRepository,
                              GoodsReceiptRepository grnRepository,
                              RequisitionRepository requisitionRepository,
-                             DepartmentRepository departmentRepository,
-                             ItemRepository itemRepository,
-                             VendorRepository vendorRepository,
-                             StoreService storeService) {
+                             MasterDataCache masterDataCache,
+                             StoreService storeService,
+                             PurchaseRequisitionMapper prMapper,
+                             PurchaseOrderMapper poMapper,
+                             GoodsReceiptMapper grnMapper,
+                             ProcurementMetrics procurementMetrics,
+                             ListPageQuery listPageQuery) {
         this.prRepository = prRepository;
         this.poRepository = poRepository;
+        this.poLineRepository = poLineRepository;
         this.grnRepository = grnRepository;
         this.requisitionRepository = requisitionRepository;
-        this.departmentRepository = departmentRepository;
-        this.itemRepository = itemRepository;
-        this.vendorRepository = vendorRepository;
+        this.masterDataCache = masterDataCache;
         this.storeService = storeService;
+        this.prMapper = prMapper;
+        this.poMapper = poMapper;
+        this.grnMapper = grnMapper;
+        this.procurementMetrics = procurementMetrics;
+        this.listPageQuery = listPageQuery;
+    }
+
+    /**
+     * Keyset page of purchase orders, newest first, with lines batch-loaded
+     * for the returned rows only and mapped inside the read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<PurchaseOrderResponse> listPOs(ListFilter<PurchaseOrderStatus> filter) {
+        List<PurchaseOrder> rows = listPageQuery.fetch(PO_PAGE_SELECT, PurchaseOrder.class, "po", filter);
+        KeysetPage<PurchaseOrder> page = KeysetPage.of(rows, filter.limit(),
+                po -> new KeysetCursor(po.getCreatedAt(), po.getId()));
+        if (!page.items().isEmpty()) {
+            poRepository.findWithLinesByIdIn(page.items().stream().map(PurchaseOrder::getId).toList());
+        }
+        return page.map(poMapper::toResponse);
+    }
+
+    /**
+     * Keyset page of GRNs, newest first, with lines batch-loaded for the
+     * returned rows only and mapped inside the read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<GoodsReceiptResponse> listGRNs(ListFilter<GRNStatus> filter) {
+        List<GoodsReceipt> rows = listPageQuery.fetch(GRN_PAGE_SELECT, GoodsReceipt.class, "g", filter);
+        KeysetPage<GoodsReceipt> page = KeysetPage.of(rows, filter.limit(),
+                g -> new KeysetCursor(g.getCreatedAt(), g.getId()));
+        if (!page.items().isEmpty()) {
+            grnRepository.findWithLinesByIdIn(page.items().stream().map(GoodsReceipt::getId).toList());
+        }
+        return page.map(grnMapper::toResponse);
+    }
+
+    /**
+     * PO lines with quantity still outstanding, optionally for one item or vendor.
+     */
+    @Transactional(readOnly = true)
+    public List<OpenPurchaseOrderLineResponse> listOpenPOLines(Long itemId, Long vendorId) {
+        return poLineRepository.findOpenLines(itemId, vendorId);
     }
 
     @Transactional
-    public PurchaseRequisition createPR(PurchaseRequisitionCreateRequest request) {
+    public PurchaseRequisitionResponse createPR(PurchaseRequisitionCreateRequest request) {
         PurchaseRequisition pr = PurchaseRequisition.builder()
                 .requestedBy(request.requestedBy())
                 .requiredByDate(request.requiredByDate())
@@ -66,13 +139,13 @@ public class ProcurementService {
             pr.setRequisition(requisition);
             pr.setDepartment(requisition.getDepartment());
         } else if (request.departmentId() != null) {
-            Department dept = departmentRepository.findById(request.departmentId())
+            Department dept = masterDataCache.findDepartment(request.departmentId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid departmentId"));
             pr.setDepartment(dept);
         }
 
         for (com.plant.procurement.procurement.dto.PurchaseRequisitionLineRequest lineReq : request.lines()) {
-            Item item = itemRepository.findById(lineReq.itemId())
+            Item item = masterDataCache.findItem(lineReq.itemId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + lineReq.itemId()));
 
             PurchaseRequisitionLine line = PurchaseRequisitionLine.builder()
@@ -84,15 +157,17 @@ public class ProcurementService {
             pr.getLines().add(line);
         }
 
-        return prRepository.save(pr);
+        PurchaseRequisition saved = prRepository.save(pr);
+        procurementMetrics.recordLines(ProcurementMetrics.Document.PURCHASE_REQUISITION, saved.getLines().size());
+        return prMapper.toResponse(saved);
     }
 
     @Transactional
-    public PurchaseOrder createPO(PurchaseOrderCreateRequest request) {
+    public PurchaseOrderResponse createPO(PurchaseOrderCreateRequest request) {
         PurchaseRequisition pr = prRepository.findById(request.purchaseRequisitionId())
                 .orElseThrow(() -> new IllegalArgumentException("Purchase Requisition not found"));
 
-        Vendor vendor = vendorRepository.findById(request.vendorId())
+        Vendor vendor = masterDataCache.findVendor(request.vendorId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid vendorId"));
 
         PurchaseOrder po = PurchaseOrder.builder()
@@ -108,7 +183,7 @@ public class ProcurementService {
                 .build();
 
         if (request.departmentId() != null) {
-            Department dept = departmentRepository.findById(request.departmentId())
+            Department dept = masterDataCache.findDepartment(request.departmentId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid departmentId"));
             po.setDepartment(dept);
         } else if (pr.getDepartment() != null) {
@@ -122,7 +197,7 @@ public class ProcurementService {
                     .orElseThrow(() -> new IllegalArgumentException(
                             "PR line not found: " + lineReq.purchaseRequisitionLineId()));
 
-            Item item = itemRepository.findById(lineReq.itemId())
+            Item item = masterDataCache.findItem(lineReq.itemId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + lineReq.itemId()));
 
             BigDecimal totalAmount = lineReq.unitPrice().multiply(BigDecimal.valueOf(lineReq.quantity()));
@@ -138,13 +213,19 @@ public class ProcurementService {
             po.getLines().add(poLine);
         }
 
-        return poRepository.save(po);
+        PurchaseOrder saved = poRepository.save(po);
+        procurementMetrics.recordLines(ProcurementMetrics.Document.PURCHASE_ORDER, saved.getLines().size());
+        return poMapper.toResponse(saved);
     }
 
     @Transactional
-    public GoodsReceipt createGRN(GRNCreateRequest request) {
-        PurchaseOrder po = poRepository.findById(request.purchaseOrderId())
+    public GoodsReceiptResponse createGRN(GRNCreateRequest request) {
+        // Serialises receipts per order: without the header lock, two receipts
+        // each closing a different last open line would both still see the
+        // other line open and leave the order PARTIALLY_RECEIVED
+        poRepository.findByIdForUpdate(request.purchaseOrderId())
                 .orElseThrow(() -> new IllegalArgumentException("Purchase Order not found"));
+        PurchaseOrder po = poRepository.findById(request.purchaseOrderId()).orElseThrow();
 
         GoodsReceipt grn = GoodsReceipt.builder()
                 .purchaseOrder(po)
@@ -158,20 +239,32 @@ public class ProcurementService {
                 .updatedAt(OffsetDateTime.now())
                 .build();
 
+        Map<Long, PurchaseOrderLine> poLinesById = new HashMap<>();
+        for (PurchaseOrderLine poLine : po.getLines()) {
+            poLinesById.put(poLine.getId(), poLine);
+        }
+        Map<Long, Double> receivedByItemId = new HashMap<>();
+        Map<Long, Double> receivedByPoLineId = new TreeMap<>();
+
         for (com.plant.procurement.procurement.dto.GRNLineRequest lineReq : request.lines()) {
-            PurchaseOrderLine poLine = po.getLines().stream()
-                    .filter(l -> l.getId().equals(lineReq.purchaseOrderLineId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "PO line not found: " + lineReq.purchaseOrderLineId()));
+            PurchaseOrderLine poLine = poLinesById.get(lineReq.purchaseOrderLineId());
+            if (poLine == null) {
+                throw new IllegalArgumentException("PO line not found: " + lineReq.purchaseOrderLineId());
+            }
 
-            if (lineReq.receivedQuantity() > poLine.getQuantity()) {
+            if (lineReq.receivedQuantity() > poLine.getQuantity() - poLine.getReceivedQuantity()) {
                 throw new IllegalArgumentException(
-                        "Received quantity cannot exceed ordered quantity for item: " + poLine.getItem().getCode());
+                        "Received quantity cannot exceed outstanding quantity for item: " + poLine.getItem().getCode() +
+                                ". Outstanding: " + (poLine.getQuantity() - poLine.getReceivedQuantity()) +
+                                ", Received: " + lineReq.receivedQuantity());
             }
 
-            Item item = itemRepository.findById(lineReq.itemId())
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + lineReq.itemId()));
+            // The PO line already carries its item; the request id only has to agree with it
+            Item item = poLine.getItem();
+            if (!item.getId().equals(lineReq.itemId())) {
+                throw new IllegalArgumentException(
+                        "itemId " + lineReq.itemId() + " does not match PO line " + poLine.getId());
+            }
 
             GoodsReceiptLine grnLine = GoodsReceiptLine.builder()
                     .goodsReceipt(grn)
@@ -182,24 +275,36 @@ public class ProcurementService {
                     .build();
             grn.getLines().add(grnLine);
 
-            // Add stock to store
-            storeService.addStock(item.getId(), lineReq.receivedQuantity());
+            receivedByItemId.merge(item.getId(), lineReq.receivedQuantity(), Double::sum);
+            receivedByPoLineId.merge(poLine.getId(), lineReq.receivedQuantity(), Double::sum);
         }
 
-        // Update PO status
-        boolean allReceived = po.getLines().stream()
-                .allMatch(poLine -> grn.getLines().stream()
-                        .anyMatch(grnLine -> grnLine.getPurchaseOrderLine().getId().equals(poLine.getId())
-                                && grnLine.getReceivedQuantity() >= poLine.getQuantity()));
+        // Maintain each PO line's running received total, in line id order
+        receivedByPoLineId.forEach((poLineId, quantity) -> {
+            if (quantity > 0 && poLineRepository.addReceivedQuantity(poLineId, quantity) == 0) {
+                throw new IllegalArgumentException(
+                        "Received quantity exceeds outstanding quantity for PO line: " + poLineId);
+            }
+        });
+
+        // Assigns the GRN id (sequence-generated) so stock movements can reference it
+        GoodsReceipt saved = grnRepository.save(grn);
+
+        // Add stock to store: one update per item, sent as a single batch
+        storeService.receiveStock(receivedByItemId, saved.getId());
+
+        // Update PO status from the cumulative totals across all GRNs; the
+        // managed order is flushed with the transaction
+        boolean allReceived = poLineRepository.countByPurchaseOrderIdAndFullyReceivedFalse(po.getId()) == 0;
 
         if (allReceived) {
             po.setStatus(PurchaseOrderStatus.FULLY_RECEIVED);
         } else {
             po.setStatus(PurchaseOrderStatus.PARTIALLY_RECEIVED);
         }
-        poRepository.save(po);
 
-        return grnRepository.save(grn);
+        procurementMetrics.recordLines(ProcurementMetrics.Document.GOODS_RECEIPT, saved.getLines().size());
+        return grnMapper.toResponse(saved);
     }
 }
 
@@ -1,11 +1,16 @@
 package com.plant.procurement.procurement;
 
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.procurement.dto.OpenPurchaseOrderLineResponse;
 import com.plant.procurement.procurement.dto.PurchaseOrderCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,29 +19,46 @@ public class PurchaseOrderController {
 
     private final PurchaseOrderRepository repository;
     private final ProcurementService service;
+    private final PurchaseOrderMapper mapper;
 
     public PurchaseOrderController(PurchaseOrderRepository repository,
-                                  ProcurementService service) {
+                                  ProcurementService service,
+                                  PurchaseOrderMapper mapper) {
         this.repository = repository;
         this.service = service;
+        this.mapper = mapper;
     }
 
     @GetMapping
-    public List<PurchaseOrder> list() {
-        return repository.findAll();
+    public ResponseEntity<List<PurchaseOrderResponse>> list(
+            @RequestParam(required = false) PurchaseOrderStatus status,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.listPOs(ListFilter.of(status, departmentId, from, to, cursor, limit))
+                .toResponseEntity();
+    }
+
+    @GetMapping("/open-lines")
+    public List<OpenPurchaseOrderLineResponse> openLines(@RequestParam(required = false) Long itemId,
+                                                         @RequestParam(required = false) Long vendorId) {
+        return service.listOpenPOLines(itemId, vendorId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PurchaseOrder> get(@PathVariable Long id) {
+    public ResponseEntity<PurchaseOrderResponse> get(@PathVariable Long id) {
         return repository.findById(id)
+                .map(mapper::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<PurchaseOrder> create(@Valid @RequestBody PurchaseOrderCreateRequest request) {
-        PurchaseOrder created = service.createPO(request);
-        return ResponseEntity.created(URI.create("/api/purchase-orders/" + created.getId()))
+    public ResponseEntity<PurchaseOrderResponse> create(@Valid @RequestBody PurchaseOrderCreateRequest request) {
+        PurchaseOrderResponse created = service.createPO(request);
+        return ResponseEntity.created(URI.create("/api/purchase-orders/" + created.id()))
                 .body(created);
     }
 }
@@ -0,0 +1,30 @@
+package com.plant.procurement.procurement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * One purchase order line with its header fields, as written by the export.
+ */
+public record PurchaseOrderExportRow(
+        Long purchaseOrderId,
+        String poNumber,
+        PurchaseOrderStatus status,
+        LocalDate orderDate,
+        LocalDate expectedDeliveryDate,
+        String vendorCode,
+        String vendorName,
+        String departmentCode,
+        String createdBy,
+        OffsetDateTime createdAt,
+        Long lineId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalAmount,
+        Double receivedQuantity
+) {
+}
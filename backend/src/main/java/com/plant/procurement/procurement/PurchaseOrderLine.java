@@ -10,6 +10,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
+// Open lines are indexed on purchase_order_id where fully_received = false, a
+// partial index that only the migrations can express
 @Table(name = "purchase_order_lines")
 @Data
 @NoArgsConstructor
@@ -18,7 +20,8 @@ import java.math.BigDecimal;
 public class PurchaseOrderLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_lines_seq")
+    @SequenceGenerator(name = "purchase_order_lines_seq", sequenceName = "purchase_order_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,5 +43,19 @@ public class PurchaseOrderLine {
 
     @Column(length = 300)
     private String remarks;
+
+    /**
+     * Running total received against this line across all GRNs. Like
+     * {@link #fullyReceived}, maintained only by
+     * {@link PurchaseOrderLineRepository#addReceivedQuantity} and never
+     * written from the entity.
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private double receivedQuantity = 0.0;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private boolean fullyReceived = false;
 }
 
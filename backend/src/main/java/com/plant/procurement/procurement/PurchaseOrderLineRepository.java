@@ -0,0 +1,53 @@
+package com.plant.procurement.procurement;
+
+import com.plant.procurement.procurement.dto.OpenPurchaseOrderLineResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PurchaseOrderLineRepository extends JpaRepository<PurchaseOrderLine, Long> {
+
+    /**
+     * Atomically adds to the line's received total and refreshes its
+     * fully-received flag. Returns 0, changing nothing, if that would take the
+     * total past the ordered quantity.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "purchase_order_lines"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update purchase_order_lines
+            set received_quantity = received_quantity + :quantity,
+                fully_received = (received_quantity + :quantity >= quantity)
+            where id = :lineId and received_quantity + :quantity <= quantity
+            """, nativeQuery = true)
+    int addReceivedQuantity(@Param("lineId") Long lineId, @Param("quantity") double quantity);
+
+    long countByPurchaseOrderIdAndFullyReceivedFalse(Long purchaseOrderId);
+
+    /**
+     * Lines still awaiting delivery, read through the partial index over
+     * open lines.
+     */
+    @Query("""
+            select new com.plant.procurement.procurement.dto.OpenPurchaseOrderLineResponse(
+                l.id, po.id, po.poNumber, v.id, v.name, i.id, i.code, i.description, i.uom,
+                l.quantity, l.receivedQuantity, l.quantity - l.receivedQuantity, po.expectedDeliveryDate)
+            from PurchaseOrderLine l
+            join l.purchaseOrder po
+            join po.vendor v
+            join l.item i
+            where l.fullyReceived = false
+              and po.status <> com.plant.procurement.procurement.PurchaseOrderStatus.CANCELLED
+              and (:itemId is null or i.id = :itemId)
+              and (:vendorId is null or v.id = :vendorId)
+            order by po.id, l.id
+            """)
+    List<OpenPurchaseOrderLineResponse> findOpenLines(@Param("itemId") Long itemId,
+                                                      @Param("vendorId") Long vendorId);
+}
@@ -0,0 +1,83 @@
+package com.plant.procurement.procurement;
+
+import com.plant.procurement.master.dto.DepartmentMapper;
+import com.plant.procurement.master.dto.ItemMapper;
+import com.plant.procurement.master.dto.VendorMapper;
+import com.plant.procurement.procurement.dto.PurchaseOrderLineResponse;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import com.plant.procurement.procurement.dto.PurchaseOrderSummaryResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class PurchaseOrderMapper {
+
+    private final VendorMapper vendorMapper;
+    private final DepartmentMapper departmentMapper;
+    private final ItemMapper itemMapper;
+
+    public PurchaseOrderMapper(VendorMapper vendorMapper,
+                               DepartmentMapper departmentMapper,
+                               ItemMapper itemMapper) {
+        this.vendorMapper = vendorMapper;
+        this.departmentMapper = departmentMapper;
+        this.itemMapper = itemMapper;
+    }
+
+    public PurchaseOrderResponse toResponse(PurchaseOrder po) {
+        if (po == null) {
+            return null;
+        }
+
+        return new PurchaseOrderResponse(
+                po.getId(),
+                po.getPoNumber(),
+                po.getPurchaseRequisition() != null ? po.getPurchaseRequisition().getId() : null,
+                vendorMapper.toResponse(po.getVendor()),
+                departmentMapper.toResponse(po.getDepartment()),
+                po.getCreatedBy(),
+                po.getOrderDate(),
+                po.getExpectedDeliveryDate(),
+                po.getRemarks(),
+                po.getStatus(),
+                po.getLines() != null
+                        ? po.getLines().stream()
+                        .map(this::toLineResponse)
+                        .collect(Collectors.toList())
+                        : null,
+                po.getCreatedAt(),
+                po.getUpdatedAt()
+        );
+    }
+
+    public PurchaseOrderSummaryResponse toSummaryResponse(PurchaseOrder po) {
+        if (po == null) {
+            return null;
+        }
+
+        return new PurchaseOrderSummaryResponse(
+                po.getId(),
+                po.getPoNumber(),
+                po.getOrderDate(),
+                po.getStatus()
+        );
+    }
+
+    private PurchaseOrderLineResponse toLineResponse(PurchaseOrderLine line) {
+        if (line == null) {
+            return null;
+        }
+
+        return new PurchaseOrderLineResponse(
+                line.getId(),
+                itemMapper.toResponse(line.getItem()),
+                line.getQuantity(),
+                line.getUnitPrice(),
+                line.getTotalAmount(),
+                line.getRemarks(),
+                line.getReceivedQuantity(),
+                line.isFullyReceived()
+        );
+    }
+}
@@ -1,17 +1,63 @@
 package com.plant.procurement.procurement;
 
+import com.plant.procurement.common.StreamingQueries;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
 
-    @EntityGraph(attributePaths = {"purchaseRequisition", "vendor", "department", "lines", "lines.item"})
+    @EntityGraph(attributePaths = {"vendor", "department", "lines", "lines.item"})
     Optional<PurchaseOrder> findById(Long id);
 
-    @EntityGraph(attributePaths = {"purchaseRequisition", "vendor", "department", "lines", "lines.item"})
+    @EntityGraph(attributePaths = {"vendor", "department", "lines", "lines.item"})
     List<PurchaseOrder> findAll();
-}
 
+    /**
+     * Locks the order's header row. A goods receipt takes it before touching
+     * the order's lines, so receipts against one order run one at a time and
+     * each derives the order status from the committed line totals.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select po from PurchaseOrder po where po.id = :id")
+    Optional<PurchaseOrder> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"lines", "lines.item"})
+    List<PurchaseOrder> findWithLinesByIdIn(Collection<Long> ids);
+
+    /**
+     * Purchase order lines with header fields for export, oldest document
+     * first. Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("""
+            select new com.plant.procurement.procurement.PurchaseOrderExportRow(
+                po.id, po.poNumber, po.status, po.orderDate, po.expectedDeliveryDate, v.code, v.name, d.code,
+                po.createdBy, po.createdAt, l.id, i.code, i.description, i.uom, l.quantity, l.unitPrice,
+                l.totalAmount, l.receivedQuantity)
+            from PurchaseOrderLine l
+            join l.purchaseOrder po
+            join po.vendor v
+            left join po.department d
+            join l.item i
+            where (:departmentId is null or d.id = :departmentId)
+              and (:createdFrom is null or po.createdAt >= :createdFrom)
+              and (:createdBefore is null or po.createdAt < :createdBefore)
+            order by po.id, l.id
+            """)
+    Stream<PurchaseOrderExportRow> streamExportRows(@Param("departmentId") Long departmentId,
+                                                    @Param("createdFrom") OffsetDateTime createdFrom,
+                                                    @Param("createdBefore") OffsetDateTime createdBefore);
+}
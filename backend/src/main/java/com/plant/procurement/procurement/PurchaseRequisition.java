@@ -22,7 +22,8 @@ import java.util.List;
 public class PurchaseRequisition {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_requisitions_seq")
+    @SequenceGenerator(name = "purchase_requisitions_seq", sequenceName = "purchase_requisitions_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -1,12 +1,14 @@
 package com.plant.procurement.procurement;
 
 import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/purchase-requisitions")
@@ -14,29 +16,35 @@ public class PurchaseRequisitionController {
 
     private final PurchaseRequisitionRepository repository;
     private final ProcurementService service;
+    private final PurchaseRequisitionMapper mapper;
 
     public PurchaseRequisitionController(PurchaseRequisitionRepository repository,
-                                        ProcurementService service) {
+                                        ProcurementService service,
+                                        PurchaseRequisitionMapper mapper) {
         this.repository = repository;
         this.service = service;
+        this.mapper = mapper;
     }
 
     @GetMapping
-    public List<PurchaseRequisition> list() {
-        return repository.findAll();
+    public List<PurchaseRequisitionResponse> list() {
+        return repository.findAll().stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PurchaseRequisition> get(@PathVariable Long id) {
+    public ResponseEntity<PurchaseRequisitionResponse> get(@PathVariable Long id) {
         return repository.findById(id)
+                .map(mapper::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<PurchaseRequisition> create(@Valid @RequestBody PurchaseRequisitionCreateRequest request) {
-        PurchaseRequisition created = service.createPR(request);
-        return ResponseEntity.created(URI.create("/api/purchase-requisitions/" + created.getId()))
+    public ResponseEntity<PurchaseRequisitionResponse> create(@Valid @RequestBody PurchaseRequisitionCreateRequest request) {
+        PurchaseRequisitionResponse created = service.createPR(request);
+        return ResponseEntity.created(URI.create("/api/purchase-requisitions/" + created.id()))
                 .body(created);
     }
 }
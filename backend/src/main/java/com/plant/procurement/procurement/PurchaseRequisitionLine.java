@@ -17,7 +17,8 @@ import lombok.NoArgsConstructor;
 public class PurchaseRequisitionLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_requisition_lines_seq")
+    @SequenceGenerator(name = "purchase_requisition_lines_seq", sequenceName = "purchase_requisition_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,59 @@
+package com.plant.procurement.procurement;
+
+import com.plant.procurement.master.dto.DepartmentMapper;
+import com.plant.procurement.master.dto.ItemMapper;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionLineResponse;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class PurchaseRequisitionMapper {
+
+    private final DepartmentMapper departmentMapper;
+    private final ItemMapper itemMapper;
+
+    public PurchaseRequisitionMapper(DepartmentMapper departmentMapper, ItemMapper itemMapper) {
+        this.departmentMapper = departmentMapper;
+        this.itemMapper = itemMapper;
+    }
+
+    public PurchaseRequisitionResponse toResponse(PurchaseRequisition pr) {
+        if (pr == null) {
+            return null;
+        }
+
+        return new PurchaseRequisitionResponse(
+                pr.getId(),
+                pr.getPrNumber(),
+                pr.getRequisition() != null ? pr.getRequisition().getId() : null,
+                departmentMapper.toResponse(pr.getDepartment()),
+                pr.getRequestedBy(),
+                pr.getRequiredByDate(),
+                pr.getRemarks(),
+                pr.getStatus(),
+                pr.getLines() != null
+                        ? pr.getLines().stream()
+                        .map(this::toLineResponse)
+                        .collect(Collectors.toList())
+                        : null,
+                pr.getCreatedAt(),
+                pr.getUpdatedAt()
+        );
+    }
+
+    private PurchaseRequisitionLineResponse toLineResponse(PurchaseRequisitionLine line) {
+        if (line == null) {
+            return null;
+        }
+
+        return new PurchaseRequisitionLineResponse(
+                line.getId(),
+                itemMapper.toResponse(line.getItem()),
+                line.getRequisitionLine() != null ? line.getRequisitionLine().getId() : null,
+                line.getQuantity(),
+                line.getPurpose()
+        );
+    }
+}
@@ -8,10 +8,10 @@ import java.util.Optional;
 
 public interface PurchaseRequisitionRepository extends JpaRepository<PurchaseRequisition, Long> {
 
-    @EntityGraph(attributePaths = {"requisition", "department", "lines", "lines.item"})
+    @EntityGraph(attributePaths = {"department", "lines", "lines.item"})
     Optional<PurchaseRequisition> findById(Long id);
 
-    @EntityGraph(attributePaths = {"requisition", "department", "lines", "lines.item"})
+    @EntityGraph(attributePaths = {"department", "lines", "lines.item"})
     List<PurchaseRequisition> findAll();
 }
 
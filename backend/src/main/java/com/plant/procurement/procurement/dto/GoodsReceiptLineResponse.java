@@ -0,0 +1,12 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.master.dto.ItemResponse;
+
+public record GoodsReceiptLineResponse(
+        Long id,
+        Long purchaseOrderLineId,
+        ItemResponse item,
+        Double orderedQuantity,
+        Double receivedQuantity
+) {
+}
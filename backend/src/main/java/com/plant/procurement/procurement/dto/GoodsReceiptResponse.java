@@ -0,0 +1,25 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.master.dto.DepartmentResponse;
+import com.plant.procurement.master.dto.VendorResponse;
+import com.plant.procurement.procurement.GRNStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record GoodsReceiptResponse(
+        Long id,
+        String grnNumber,
+        PurchaseOrderSummaryResponse purchaseOrder,
+        VendorResponse vendor,
+        DepartmentResponse department,
+        String receivedBy,
+        LocalDate receiptDate,
+        String remarks,
+        GRNStatus status,
+        List<GoodsReceiptLineResponse> lines,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
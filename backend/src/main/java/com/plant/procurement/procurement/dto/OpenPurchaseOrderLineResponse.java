@@ -0,0 +1,20 @@
+package com.plant.procurement.procurement.dto;
+
+import java.time.LocalDate;
+
+public record OpenPurchaseOrderLineResponse(
+        Long purchaseOrderLineId,
+        Long purchaseOrderId,
+        String poNumber,
+        Long vendorId,
+        String vendorName,
+        Long itemId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double orderedQuantity,
+        Double receivedQuantity,
+        Double outstandingQuantity,
+        LocalDate expectedDeliveryDate
+) {
+}
@@ -0,0 +1,17 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.master.dto.ItemResponse;
+
+import java.math.BigDecimal;
+
+public record PurchaseOrderLineResponse(
+        Long id,
+        ItemResponse item,
+        Double quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalAmount,
+        String remarks,
+        Double receivedQuantity,
+        Boolean fullyReceived
+) {
+}
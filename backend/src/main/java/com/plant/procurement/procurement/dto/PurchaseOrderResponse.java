@@ -0,0 +1,26 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.master.dto.DepartmentResponse;
+import com.plant.procurement.master.dto.VendorResponse;
+import com.plant.procurement.procurement.PurchaseOrderStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record PurchaseOrderResponse(
+        Long id,
+        String poNumber,
+        Long purchaseRequisitionId,
+        VendorResponse vendor,
+        DepartmentResponse department,
+        String createdBy,
+        LocalDate orderDate,
+        LocalDate expectedDeliveryDate,
+        String remarks,
+        PurchaseOrderStatus status,
+        List<PurchaseOrderLineResponse> lines,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.procurement.PurchaseOrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Header-only view of a purchase order, embedded where the full order with
+ * its lines is not needed (e.g. in a GRN).
+ */
+public record PurchaseOrderSummaryResponse(
+        Long id,
+        String poNumber,
+        LocalDate orderDate,
+        PurchaseOrderStatus status
+) {
+}
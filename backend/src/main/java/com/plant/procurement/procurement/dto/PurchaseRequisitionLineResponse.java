@@ -0,0 +1,12 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.master.dto.ItemResponse;
+
+public record PurchaseRequisitionLineResponse(
+        Long id,
+        ItemResponse item,
+        Long requisitionLineId,
+        Double quantity,
+        String purpose
+) {
+}
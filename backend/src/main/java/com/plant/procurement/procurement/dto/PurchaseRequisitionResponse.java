@@ -0,0 +1,23 @@
+package com.plant.procurement.procurement.dto;
+
+import com.plant.procurement.master.dto.DepartmentResponse;
+import com.plant.procurement.procurement.PurchaseRequisitionStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record PurchaseRequisitionResponse(
+        Long id,
+        String prNumber,
+        Long requisitionId,
+        DepartmentResponse department,
+        String requestedBy,
+        LocalDate requiredByDate,
+        String remarks,
+        PurchaseRequisitionStatus status,
+        List<PurchaseRequisitionLineResponse> lines,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
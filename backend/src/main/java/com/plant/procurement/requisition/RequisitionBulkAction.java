@@ -0,0 +1,37 @@
+package com.plant.procurement.requisition;
+
+/**
+ * Approval-queue decisions that can be applied to many requisitions at once,
+ * each a single guarded status transition.
+ */
+public enum RequisitionBulkAction {
+    APPROVE_HOD(RequisitionStatus.PENDING_HOD_APPROVAL, RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL, false),
+    REJECT_HOD(RequisitionStatus.PENDING_HOD_APPROVAL, RequisitionStatus.REJECTED_BY_HOD, false),
+    APPROVE_PLANT_HEAD(RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL, RequisitionStatus.APPROVED, true),
+    REJECT_PLANT_HEAD(RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL, RequisitionStatus.REJECTED_BY_PLANT_HEAD, true);
+
+    private final RequisitionStatus from;
+    private final RequisitionStatus to;
+    private final boolean plantHead;
+
+    RequisitionBulkAction(RequisitionStatus from, RequisitionStatus to, boolean plantHead) {
+        this.from = from;
+        this.to = to;
+        this.plantHead = plantHead;
+    }
+
+    public RequisitionStatus from() {
+        return from;
+    }
+
+    public RequisitionStatus to() {
+        return to;
+    }
+
+    /**
+     * Whether the decision stamps {@code plantHeadActionAt} rather than {@code hodActionAt}.
+     */
+    public boolean isPlantHead() {
+        return plantHead;
+    }
+}
@@ -1,21 +1,26 @@
 package com.plant.procurement.requisition;
 
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionResponse;
 import com.plant.procurement.requisition.dto.RequisitionCreateRequest;
 import com.plant.procurement.requisition.dto.RequisitionDecisionRequest;
 import com.plant.procurement.requisition.dto.RequisitionListItemResponse;
 import com.plant.procurement.requisition.dto.RequisitionResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/requisitions")
@@ -34,10 +39,15 @@ public class RequisitionController {
     }
 
     @GetMapping
-    public List<RequisitionListItemResponse> list() {
-        return requisitionRepository.findAll().stream()
-                .map(requisitionMapper::toListItemResponse)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<RequisitionListItemResponse>> list(
+            @RequestParam(required = false) RequisitionStatus status,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return requisitionService.list(ListFilter.of(status, departmentId, from, to, cursor, limit))
+                .toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -50,38 +60,38 @@ public class RequisitionController {
 
     @PostMapping
     public ResponseEntity<RequisitionResponse> create(@Valid @RequestBody RequisitionCreateRequest request) {
-        Requisition created = requisitionService.create(request);
-        RequisitionResponse response = requisitionMapper.toResponse(created);
-        return ResponseEntity.created(URI.create("/api/requisitions/" + created.getId()))
-                .body(response);
+        RequisitionResponse created = requisitionService.create(request);
+        return ResponseEntity.created(URI.create("/api/requisitions/" + created.id()))
+                .body(created);
+    }
+
+    @PostMapping("/bulk-decision")
+    public RequisitionBulkDecisionResponse bulkDecision(@Valid @RequestBody RequisitionBulkDecisionRequest request) {
+        return requisitionService.bulkDecide(request);
     }
 
     @PostMapping("/{id}/approve-hod")
     public ResponseEntity<RequisitionResponse> approveByHod(@PathVariable Long id,
                                                     @Valid @RequestBody RequisitionDecisionRequest decision) {
-        Requisition updated = requisitionService.approveByHod(id, decision);
-        return ResponseEntity.ok(requisitionMapper.toResponse(updated));
+        return ResponseEntity.ok(requisitionService.approveByHod(id, decision));
     }
 
     @PostMapping("/{id}/reject-hod")
     public ResponseEntity<RequisitionResponse> rejectByHod(@PathVariable Long id,
                                                    @Valid @RequestBody RequisitionDecisionRequest decision) {
-        Requisition updated = requisitionService.rejectByHod(id, decision);
-        return ResponseEntity.ok(requisitionMapper.toResponse(updated));
+        return ResponseEntity.ok(requisitionService.rejectByHod(id, decision));
     }
 
     @PostMapping("/{id}/approve-plant-head")
     public ResponseEntity<RequisitionResponse> approveByPlantHead(@PathVariable Long id,
                                                           @Valid @RequestBody RequisitionDecisionRequest decision) {
-        Requisition updated = requisitionService.approveByPlantHead(id, decision);
-        return ResponseEntity.ok(requisitionMapper.toResponse(updated));
+        return ResponseEntity.ok(requisitionService.approveByPlantHead(id, decision));
     }
 
     @PostMapping("/{id}/reject-plant-head")
     public ResponseEntity<RequisitionResponse> rejectByPlantHead(@PathVariable Long id,
                                                          @Valid @RequestBody RequisitionDecisionRequest decision) {
-        Requisition updated = requisitionService.rejectByPlantHead(id, decision);
-        return ResponseEntity.ok(requisitionMapper.toResponse(updated));
+        return ResponseEntity.ok(requisitionService.rejectByPlantHead(id, decision));
     }
 }
 
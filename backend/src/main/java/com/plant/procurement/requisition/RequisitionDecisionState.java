@@ -0,0 +1,10 @@
+package com.plant.procurement.requisition;
+
+/**
+ * Status of a requisition, read without its graph.
+ */
+public record RequisitionDecisionState(
+        Long id,
+        RequisitionStatus status
+) {
+}
@@ -0,0 +1,25 @@
+package com.plant.procurement.requisition;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * One requisition line with its header fields, as written by the export.
+ */
+public record RequisitionExportRow(
+        Long requisitionId,
+        String reqNumber,
+        RequisitionStatus status,
+        String departmentCode,
+        String requestedBy,
+        LocalDate requiredByDate,
+        OffsetDateTime createdAt,
+        Long lineId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double quantity,
+        Double issuedQuantity,
+        String purpose
+) {
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,7 +25,8 @@ import lombok.NoArgsConstructor;
 public class RequisitionLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requisition_lines_seq")
+    @SequenceGenerator(name = "requisition_lines_seq", sequenceName = "requisition_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,6 +42,15 @@ public class RequisitionLine {
 
     @Column(length = 300)
     private String purpose;
+
+    /**
+     * Running total issued from store against this line. Maintained only by
+     * {@link RequisitionLineRepository#addIssuedQuantity}, never written from
+     * the entity, so a stale copy cannot overwrite a concurrent issue.
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private double issuedQuantity = 0.0;
 }
 
 
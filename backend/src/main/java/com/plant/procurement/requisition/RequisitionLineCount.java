@@ -0,0 +1,7 @@
+package com.plant.procurement.requisition;
+
+/**
+ * Number of lines of one requisition, from a grouped COUNT query.
+ */
+public record RequisitionLineCount(Long requisitionId, Long lineCount) {
+}
@@ -0,0 +1,24 @@
+package com.plant.procurement.requisition;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface RequisitionLineRepository extends JpaRepository<RequisitionLine, Long> {
+
+    /**
+     * Atomically adds to the line's issued total. Returns 0, changing nothing,
+     * if that would take the total past the requested quantity.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "requisition_lines"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update requisition_lines set issued_quantity = issued_quantity + :quantity
+            where id = :lineId and issued_quantity + :quantity <= quantity
+            """, nativeQuery = true)
+    int addIssuedQuantity(@Param("lineId") Long lineId, @Param("quantity") double quantity);
+}
@@ -0,0 +1,24 @@
+package com.plant.procurement.requisition;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Flat list-view row for a requisition, selected by a JPQL constructor query
+ * with the line count computed in SQL, so no lines are loaded.
+ */
+public record RequisitionListRow(
+        Long id,
+        String reqNumber,
+        Long departmentId,
+        String departmentCode,
+        String departmentName,
+        Boolean departmentActive,
+        String requestedBy,
+        LocalDate requiredByDate,
+        RequisitionStatus status,
+        Long lineCount,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
@@ -1,6 +1,7 @@
 package com.plant.procurement.requisition;
 
 import com.plant.procurement.master.dto.DepartmentMapper;
+import com.plant.procurement.master.dto.DepartmentResponse;
 import com.plant.procurement.master.dto.ItemMapper;
 import com.plant.procurement.requisition.dto.RequisitionLineResponse;
 import com.plant.procurement.requisition.dto.RequisitionListItemResponse;
@@ -50,6 +51,19 @@ public class RequisitionMapper {
             return null;
         }
 
+        return toListItemResponse(requisition,
+                requisition.getLines() != null ? requisition.getLines().size() : 0);
+    }
+
+    /**
+     * List item with a line count obtained elsewhere (e.g. a COUNT query), so
+     * the requisition's lines need not be loaded.
+     */
+    public RequisitionListItemResponse toListItemResponse(Requisition requisition, int lineCount) {
+        if (requisition == null) {
+            return null;
+        }
+
         return new RequisitionListItemResponse(
                 requisition.getId(),
                 requisition.getReqNumber(),
@@ -57,12 +71,31 @@ public class RequisitionMapper {
                 requisition.getRequestedBy(),
                 requisition.getRequiredByDate(),
                 requisition.getStatus(),
-                requisition.getLines() != null ? requisition.getLines().size() : 0,
+                lineCount,
                 requisition.getCreatedAt(),
                 requisition.getUpdatedAt()
         );
     }
 
+    public RequisitionListItemResponse toListItemResponse(RequisitionListRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return new RequisitionListItemResponse(
+                row.id(),
+                row.reqNumber(),
+                new DepartmentResponse(row.departmentId(), row.departmentCode(),
+                        row.departmentName(), row.departmentActive()),
+                row.requestedBy(),
+                row.requiredByDate(),
+                row.status(),
+                row.lineCount().intValue(),
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
     private RequisitionLineResponse toLineResponse(RequisitionLine line) {
         if (line == null) {
             return null;
@@ -1,10 +1,20 @@
 package com.plant.procurement.requisition;
 
+import com.plant.procurement.common.StreamingQueries;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RequisitionRepository extends JpaRepository<Requisition, Long> {
 
@@ -13,6 +23,81 @@ public interface RequisitionRepository extends JpaRepository<Requisition, Long>
 
     @EntityGraph(attributePaths = {"department", "lines", "lines.item"})
     List<Requisition> findAll();
-}
 
+    @Query("""
+            select new com.plant.procurement.requisition.RequisitionLineCount(l.requisition.id, count(l))
+            from RequisitionLine l
+            where l.requisition.id in :requisitionIds
+            group by l.requisition.id
+            """)
+    List<RequisitionLineCount> countLinesByRequisitionIds(@Param("requisitionIds") Collection<Long> requisitionIds);
+
+    /**
+     * Locks the given requisitions that are still in {@code from}, in id
+     * order, and returns their ids. A bulk decision then moves exactly these.
+     */
+    @Query(value = """
+            select id from requisitions
+            where id in :ids and status = :from
+            order by id
+            for update
+            """, nativeQuery = true)
+    List<Long> lockIdsInStatus(@Param("ids") Collection<Long> ids, @Param("from") String from);
+
+    /**
+     * Guarded HOD decision: moves only rows still in {@code from}.
+     */
+    @Modifying
+    @Query("""
+            update Requisition r
+            set r.status = :to, r.updatedAt = :decidedAt, r.hodActionAt = :decidedAt
+            where r.id in :ids and r.status = :from
+            """)
+    int applyHodDecision(@Param("ids") Collection<Long> ids,
+                         @Param("from") RequisitionStatus from,
+                         @Param("to") RequisitionStatus to,
+                         @Param("decidedAt") OffsetDateTime decidedAt);
 
+    /**
+     * Guarded Plant Head decision: moves only rows still in {@code from}.
+     */
+    @Modifying
+    @Query("""
+            update Requisition r
+            set r.status = :to, r.updatedAt = :decidedAt, r.plantHeadActionAt = :decidedAt
+            where r.id in :ids and r.status = :from
+            """)
+    int applyPlantHeadDecision(@Param("ids") Collection<Long> ids,
+                               @Param("from") RequisitionStatus from,
+                               @Param("to") RequisitionStatus to,
+                               @Param("decidedAt") OffsetDateTime decidedAt);
+
+    @Query("""
+            select new com.plant.procurement.requisition.RequisitionDecisionState(r.id, r.status)
+            from Requisition r
+            where r.id in :ids
+            """)
+    List<RequisitionDecisionState> findDecisionStates(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Requisition lines with header fields for export, oldest document first.
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("""
+            select new com.plant.procurement.requisition.RequisitionExportRow(
+                r.id, r.reqNumber, r.status, d.code, r.requestedBy, r.requiredByDate, r.createdAt,
+                l.id, i.code, i.description, i.uom, l.quantity, l.issuedQuantity, l.purpose)
+            from RequisitionLine l
+            join l.requisition r
+            join r.department d
+            join l.item i
+            where (:departmentId is null or d.id = :departmentId)
+              and (:createdFrom is null or r.createdAt >= :createdFrom)
+              and (:createdBefore is null or r.createdAt < :createdBefore)
+            order by r.id, l.id
+            """)
+    Stream<RequisitionExportRow> streamExportRows(@Param("departmentId") Long departmentId,
+                                                  @Param("createdFrom") OffsetDateTime createdFrom,
+                                                  @Param("createdBefore") OffsetDateTime createdBefore);
+}
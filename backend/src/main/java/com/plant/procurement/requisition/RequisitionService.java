@@ -1,34 +1,91 @@
 package com.plant.procurement.requisition;
 
+import com.plant.procurement.common.InClauseChunker;
+import com.plant.procurement.common.KeysetCursor;
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.common.ListPageQuery;
+import com.plant.procurement.common.ProcurementMetrics;
 import com.plant.procurement.master.Department;
-import com.plant.procurement.master.DepartmentRepository;
 import com.plant.procurement.master.Item;
-import com.plant.procurement.master.ItemRepository;
+import com.plant.procurement.master.MasterDataCache;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionResponse;
 import com.plant.procurement.requisition.dto.RequisitionCreateRequest;
 import com.plant.procurement.requisition.dto.RequisitionDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionListItemResponse;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StockReservationService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class RequisitionService {
 
+    /**
+     * List rows as flat projections; the line count is a correlated COUNT so
+     * neither lines nor items are fetched.
+     */
+    private static final String LIST_SELECT = """
+            select new com.plant.procurement.requisition.RequisitionListRow(
+                r.id, r.reqNumber, d.id, d.code, d.name, d.active, r.requestedBy, r.requiredByDate,
+                r.status, (select count(l) from RequisitionLine l where l.requisition = r),
+                r.createdAt, r.updatedAt)
+            from Requisition r
+            join r.department d""";
+
     private final RequisitionRepository requisitionRepository;
-    private final DepartmentRepository departmentRepository;
-    private final ItemRepository itemRepository;
+    private final MasterDataCache masterDataCache;
+    private final RequisitionMapper requisitionMapper;
+    private final StockReservationService stockReservationService;
+    private final InClauseChunker inClauseChunker;
+    private final ProcurementMetrics procurementMetrics;
+    private final ListPageQuery listPageQuery;
 
     public RequisitionService(RequisitionRepository requisitionRepository,
-                              DepartmentRepository departmentRepository,
-                              ItemRepository itemRepository) {
+                              MasterDataCache masterDataCache,
+                              RequisitionMapper requisitionMapper,
+                              StockReservationService stockReservationService,
+                              InClauseChunker inClauseChunker,
+                              ProcurementMetrics procurementMetrics,
+                              ListPageQuery listPageQuery) {
         this.requisitionRepository = requisitionRepository;
-        this.departmentRepository = departmentRepository;
-        this.itemRepository = itemRepository;
+        this.masterDataCache = masterDataCache;
+        this.requisitionMapper = requisitionMapper;
+        this.stockReservationService = stockReservationService;
+        this.inClauseChunker = inClauseChunker;
+        this.procurementMetrics = procurementMetrics;
+        this.listPageQuery = listPageQuery;
+    }
+
+    /**
+     * Keyset page of requisition list items, newest first, read as flat
+     * projection rows with the line count computed in SQL.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RequisitionListItemResponse> list(ListFilter<RequisitionStatus> filter) {
+        List<RequisitionListRow> rows = listPageQuery.fetch(LIST_SELECT, RequisitionListRow.class, "r", filter);
+        return KeysetPage.of(rows, filter.limit(), r -> new KeysetCursor(r.createdAt(), r.id()))
+                .map(requisitionMapper::toListItemResponse);
     }
 
+    /**
+     * Creates a requisition and returns its response, built from the graph
+     * just persisted rather than from a reload.
+     */
     @Transactional
-    public Requisition create(RequisitionCreateRequest request) {
-        Department dept = departmentRepository.findById(request.departmentId())
+    public RequisitionResponse create(RequisitionCreateRequest request) {
+        Department dept = masterDataCache.findDepartment(request.departmentId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid departmentId"));
 
         Requisition requisition = Requisition.builder()
@@ -42,7 +99,7 @@ public class RequisitionService {
                 .build();
 
         request.lines().forEach(lineReq -> {
-            Item item = itemRepository.findById(lineReq.itemId())
+            Item item = masterDataCache.findItem(lineReq.itemId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + lineReq.itemId()));
 
             RequisitionLine line = RequisitionLine.builder()
@@ -55,13 +112,12 @@ public class RequisitionService {
         });
 
         Requisition saved = requisitionRepository.save(requisition);
-        // Reload with eager fetching to ensure all associations are loaded for JSON serialization
-        return requisitionRepository.findById(saved.getId())
-                .orElse(saved);
+        procurementMetrics.recordLines(ProcurementMetrics.Document.REQUISITION, saved.getLines().size());
+        return requisitionMapper.toResponse(saved);
     }
 
     @Transactional
-    public Requisition approveByHod(Long id, RequisitionDecisionRequest decision) {
+    public RequisitionResponse approveByHod(Long id, RequisitionDecisionRequest decision) {
         Requisition req = load(id);
         if (req.getStatus() != RequisitionStatus.PENDING_HOD_APPROVAL) {
             throw new IllegalStateException("Requisition not pending HOD approval");
@@ -69,14 +125,11 @@ public class RequisitionService {
         req.setStatus(RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL);
         req.setUpdatedAt(OffsetDateTime.now());
         req.setHodActionAt(OffsetDateTime.now());
-        requisitionRepository.save(req);
-        // Reload with eager fetching to ensure all associations are loaded for JSON serialization
-        return requisitionRepository.findById(req.getId())
-                .orElse(req);
+        return requisitionMapper.toResponse(req);
     }
 
     @Transactional
-    public Requisition rejectByHod(Long id, RequisitionDecisionRequest decision) {
+    public RequisitionResponse rejectByHod(Long id, RequisitionDecisionRequest decision) {
         Requisition req = load(id);
         if (req.getStatus() != RequisitionStatus.PENDING_HOD_APPROVAL) {
             throw new IllegalStateException("Requisition not pending HOD approval");
@@ -84,14 +137,15 @@ public class RequisitionService {
         req.setStatus(RequisitionStatus.REJECTED_BY_HOD);
         req.setUpdatedAt(OffsetDateTime.now());
         req.setHodActionAt(OffsetDateTime.now());
-        requisitionRepository.save(req);
-        // Reload with eager fetching to ensure all associations are loaded for JSON serialization
-        return requisitionRepository.findById(req.getId())
-                .orElse(req);
+        return requisitionMapper.toResponse(req);
     }
 
+    /**
+     * Approves the requisition and reserves its line quantities against
+     * store stock, so other issues cannot take them before it is issued.
+     */
     @Transactional
-    public Requisition approveByPlantHead(Long id, RequisitionDecisionRequest decision) {
+    public RequisitionResponse approveByPlantHead(Long id, RequisitionDecisionRequest decision) {
         Requisition req = load(id);
         if (req.getStatus() != RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL) {
             throw new IllegalStateException("Requisition not pending Plant Head approval");
@@ -99,14 +153,12 @@ public class RequisitionService {
         req.setStatus(RequisitionStatus.APPROVED);
         req.setUpdatedAt(OffsetDateTime.now());
         req.setPlantHeadActionAt(OffsetDateTime.now());
-        requisitionRepository.save(req);
-        // Reload with eager fetching to ensure all associations are loaded for JSON serialization
-        return requisitionRepository.findById(req.getId())
-                .orElse(req);
+        stockReservationService.reserve(req.getLines());
+        return requisitionMapper.toResponse(req);
     }
 
     @Transactional
-    public Requisition rejectByPlantHead(Long id, RequisitionDecisionRequest decision) {
+    public RequisitionResponse rejectByPlantHead(Long id, RequisitionDecisionRequest decision) {
         Requisition req = load(id);
         if (req.getStatus() != RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL) {
             throw new IllegalStateException("Requisition not pending Plant Head approval");
@@ -114,17 +166,59 @@ public class RequisitionService {
         req.setStatus(RequisitionStatus.REJECTED_BY_PLANT_HEAD);
         req.setUpdatedAt(OffsetDateTime.now());
         req.setPlantHeadActionAt(OffsetDateTime.now());
-        requisitionRepository.save(req);
-        // Reload with eager fetching to ensure all associations are loaded for JSON serialization
-        return requisitionRepository.findById(req.getId())
-                .orElse(req);
+        return requisitionMapper.toResponse(req);
+    }
+
+    /**
+     * Applies one decision to many requisitions: the rows still in the
+     * action's {@code from} status are locked in id order, moved with a
+     * guarded bulk UPDATE per id chunk ({@code ... WHERE status = from}), and
+     * reported APPLIED; the rest are read as projection rows to report why
+     * not. No graphs are loaded. Requisitions approved this way get their
+     * stock reserved as well.
+     */
+    @Transactional
+    public RequisitionBulkDecisionResponse bulkDecide(RequisitionBulkDecisionRequest request) {
+        RequisitionBulkAction action = request.action();
+        OffsetDateTime decidedAt = OffsetDateTime.now();
+
+        List<Long> lockedIds = inClauseChunker.fetch(new TreeSet<>(request.ids()),
+                ids -> requisitionRepository.lockIdsInStatus(ids, action.from().name()));
+        Set<Long> appliedIds = new HashSet<>(lockedIds);
+        int applied = inClauseChunker.update(lockedIds, ids -> action.isPlantHead()
+                ? requisitionRepository.applyPlantHeadDecision(ids, action.from(), action.to(), decidedAt)
+                : requisitionRepository.applyHodDecision(ids, action.from(), action.to(), decidedAt));
+
+        List<Long> otherIds = request.ids().stream().filter(id -> !appliedIds.contains(id)).toList();
+        Map<Long, RequisitionStatus> otherStatuses = new HashMap<>();
+        for (RequisitionDecisionState state : inClauseChunker.fetch(otherIds, requisitionRepository::findDecisionStates)) {
+            otherStatuses.put(state.id(), state.status());
+        }
+
+        List<RequisitionBulkDecisionResponse.Outcome> outcomes = new ArrayList<>(request.ids().size());
+        for (Long id : new LinkedHashSet<>(request.ids())) {
+            if (appliedIds.contains(id)) {
+                outcomes.add(new RequisitionBulkDecisionResponse.Outcome(
+                        id, RequisitionBulkDecisionResponse.Result.APPLIED, action.to()));
+            } else {
+                RequisitionStatus status = otherStatuses.get(id);
+                outcomes.add(new RequisitionBulkDecisionResponse.Outcome(id, status == null
+                        ? RequisitionBulkDecisionResponse.Result.NOT_FOUND
+                        : RequisitionBulkDecisionResponse.Result.INVALID_STATUS, status));
+            }
+        }
+        if (action.to() == RequisitionStatus.APPROVED) {
+            stockReservationService.reserveForRequisitions(lockedIds);
+        }
+        return new RequisitionBulkDecisionResponse(action, applied, outcomes);
     }
 
+    /**
+     * Loads the full graph the response needs in one query. Decisions change
+     * only the managed header, so the commit flushes a single UPDATE.
+     */
     private Requisition load(Long id) {
-        // Using findById with @EntityGraph to eagerly load associations
         return requisitionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Requisition not found: " + id));
     }
 }
-
-
@@ -0,0 +1,20 @@
+package com.plant.procurement.requisition.dto;
+
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.requisition.RequisitionBulkAction;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RequisitionBulkDecisionRequest(
+
+        @NotEmpty
+        @Size(max = KeysetPage.MAX_LIMIT)
+        List<@NotNull Long> ids,
+
+        @NotNull
+        RequisitionBulkAction action
+) {
+}
@@ -0,0 +1,29 @@
+package com.plant.procurement.requisition.dto;
+
+import com.plant.procurement.requisition.RequisitionBulkAction;
+import com.plant.procurement.requisition.RequisitionStatus;
+
+import java.util.List;
+
+public record RequisitionBulkDecisionResponse(
+        RequisitionBulkAction action,
+        int applied,
+        List<Outcome> outcomes
+) {
+
+    public enum Result {
+        APPLIED,
+        NOT_FOUND,
+        INVALID_STATUS
+    }
+
+    /**
+     * Per-id result; {@code status} is the requisition's status after the call.
+     */
+    public record Outcome(
+            Long id,
+            Result result,
+            RequisitionStatus status
+    ) {
+    }
+}
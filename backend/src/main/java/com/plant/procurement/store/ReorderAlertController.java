@@ -0,0 +1,24 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.store.dto.ReorderAlertResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/store/reorder-alerts")
+public class ReorderAlertController {
+
+    private final ReorderAlertService reorderAlertService;
+
+    public ReorderAlertController(ReorderAlertService reorderAlertService) {
+        this.reorderAlertService = reorderAlertService;
+    }
+
+    @GetMapping
+    public List<ReorderAlertResponse> list() {
+        return reorderAlertService.getAlerts();
+    }
+}
@@ -0,0 +1,169 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.common.InClauseChunker;
+import com.plant.procurement.common.ProcurementMetrics;
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionLineRequest;
+import com.plant.procurement.store.dto.ReorderAlertResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Live set of items whose available stock is below their reorder level.
+ * <p>
+ * The set is seeded once on startup; after that only items named in a
+ * committed {@link StockChangedEvent} are re-checked, so the work per stock
+ * change is proportional to the items it touched. Checks run one at a time
+ * on a dedicated thread, off the request path, and always read the latest
+ * committed quantity, so the last check for an item reflects its final state.
+ * When enabled, an item newly falling below its reorder level gets a draft
+ * purchase requisition.
+ */
+@Service
+public class ReorderAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorderAlertService.class);
+
+    private final StoreStockRepository storeStockRepository;
+    private final ProcurementService procurementService;
+    private final InClauseChunker inClauseChunker;
+    private final boolean autoDraft;
+    private final double targetMultiple;
+    private final String requestedBy;
+    private final Map<Long, ReorderAlertResponse> alerts = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "reorder-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReorderAlertService(StoreStockRepository storeStockRepository,
+                               ProcurementService procurementService,
+                               InClauseChunker inClauseChunker,
+                               ProcurementMetrics procurementMetrics,
+                               @Value("${procurement.store.reorder.auto-draft:false}") boolean autoDraft,
+                               @Value("${procurement.store.reorder.target-multiple:2.0}") double targetMultiple,
+                               @Value("${procurement.store.reorder.requested-by:system}") String requestedBy) {
+        this.storeStockRepository = storeStockRepository;
+        this.procurementService = procurementService;
+        this.inClauseChunker = inClauseChunker;
+        this.autoDraft = autoDraft;
+        this.targetMultiple = targetMultiple;
+        this.requestedBy = requestedBy;
+        procurementMetrics.gaugeBelowReorderLevel(alerts::size);
+    }
+
+    /**
+     * Current alerts, most urgent (lowest cover against reorder level) first.
+     */
+    public List<ReorderAlertResponse> getAlerts() {
+        return alerts.values().stream()
+                .sorted(Comparator.comparingDouble(
+                        (ReorderAlertResponse a) -> a.availableQuantity() / Math.max(1, a.reorderLevel()))
+                        .thenComparing(ReorderAlertResponse::itemCode))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        executor.execute(() -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            for (ReorderCheck check : storeStockRepository.findBelowReorderLevel()) {
+                alerts.put(check.itemId(), toAlert(check, now, null));
+            }
+            log.info("Seeded {} reorder alerts", alerts.size());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        executor.execute(() -> {
+            try {
+                check(event);
+            } catch (RuntimeException e) {
+                log.warn("Reorder check failed for items {}", event.itemIds(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void check(StockChangedEvent event) {
+        List<ReorderCheck> checks = inClauseChunker.fetch(event.itemIds(), storeStockRepository::findReorderChecks);
+        OffsetDateTime now = OffsetDateTime.now();
+        Set<Long> checked = new HashSet<>();
+        for (ReorderCheck check : checks) {
+            checked.add(check.itemId());
+            ReorderAlertResponse previous = alerts.get(check.itemId());
+            if (!check.belowReorderLevel()) {
+                alerts.remove(check.itemId());
+                continue;
+            }
+            if (previous != null) {
+                alerts.put(check.itemId(), toAlert(check, previous.since(), previous.draftPurchaseRequisitionId()));
+                continue;
+            }
+            alerts.put(check.itemId(), toAlert(check, now, autoDraft ? draftRequisition(check) : null));
+        }
+        // Items deactivated or deleted since the change no longer come back from the query
+        for (Long itemId : event.itemIds()) {
+            if (!checked.contains(itemId)) {
+                alerts.remove(itemId);
+            }
+        }
+    }
+
+    private Long draftRequisition(ReorderCheck check) {
+        double quantity = Math.ceil(check.reorderLevel() * targetMultiple - check.availableQuantity());
+        if (quantity <= 0) {
+            return null;
+        }
+        try {
+            return procurementService.createPR(new PurchaseRequisitionCreateRequest(
+                    null,
+                    null,
+                    requestedBy,
+                    null,
+                    "Auto-drafted: " + check.itemCode() + " below reorder level",
+                    List.of(new PurchaseRequisitionLineRequest(check.itemId(), quantity, "Reorder"))
+            )).id();
+        } catch (RuntimeException e) {
+            log.warn("Could not draft purchase requisition for item {}", check.itemCode(), e);
+            return null;
+        }
+    }
+
+    private static ReorderAlertResponse toAlert(ReorderCheck check, OffsetDateTime since, Long draftId) {
+        return new ReorderAlertResponse(
+                check.itemId(),
+                check.itemCode(),
+                check.itemDescription(),
+                check.uom(),
+                check.availableQuantity(),
+                check.minStock(),
+                check.reorderLevel(),
+                check.belowMinStock(),
+                since,
+                draftId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.plant.procurement.store;
+
+/**
+ * An item's reorder thresholds alongside its current available quantity
+ * (zero when the item has never been stocked).
+ */
+public record ReorderCheck(
+        Long itemId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Integer minStock,
+        Integer reorderLevel,
+        Double availableQuantity
+) {
+
+    public boolean belowReorderLevel() {
+        return reorderLevel != null && availableQuantity < reorderLevel;
+    }
+
+    public boolean belowMinStock() {
+        return minStock != null && availableQuantity < minStock;
+    }
+}
@@ -0,0 +1,26 @@
+package com.plant.procurement.store;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When a reservation lapses, as queued in {@link StockReservationService}'s
+ * delay queue. Only the id is kept; the row is re-read under lock on expiry.
+ */
+public record ReservationExpiry(Long reservationId, OffsetDateTime expiresAt) implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        long millis = expiresAt.toInstant().toEpochMilli() - System.currentTimeMillis();
+        return unit.convert(millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof ReservationExpiry expiry) {
+            return expiresAt.compareTo(expiry.expiresAt);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,8 @@
+package com.plant.procurement.store;
+
+/**
+ * Quantity of an approved requisition line still to be issued, and so to be
+ * reserved against its item's stock.
+ */
+public record ReservationRequest(Long requisitionLineId, Long itemId, Double quantity) {
+}
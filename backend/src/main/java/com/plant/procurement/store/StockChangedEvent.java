@@ -0,0 +1,11 @@
+package com.plant.procurement.store;
+
+import java.util.Set;
+
+/**
+ * Published by {@link StoreService} whenever a transaction changes stock of
+ * the given items, and when an item's reorder thresholds change; listeners
+ * should act only after it commits.
+ */
+public record StockChangedEvent(Set<Long> itemIds) {
+}
@@ -0,0 +1,250 @@
+package com.plant.procurement.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process mirror of {@code store_stocks} keyed by item id, so stock reads
+ * need no database round-trip.
+ * <p>
+ * The table is split into lock stripes by item id. Stock changes made by
+ * {@link StoreService} are applied here only after their transaction commits;
+ * the database stays authoritative (issues are still validated by the
+ * conditional UPDATE), and the mirror is rebuilt from it on startup and on a
+ * fixed interval to heal any drift.
+ * <p>
+ * A rebuild must not interleave with a transaction that has stock changes
+ * to apply: a commit landing before the read and applied after the refill
+ * would count twice, and one landing after the read but applied before the
+ * refill would be lost. Such transactions therefore hold a shared commit
+ * gate from just before they commit until their changes are applied, and a
+ * rebuild holds it exclusively from before its read until the refill is
+ * done. The rebuild only ever tries the gate rather than queueing for it,
+ * so a committing transaction that is itself waiting on a row lock can
+ * never be stuck behind a rebuild; and it takes its connection before the
+ * gate, so it never waits for the pool while holding it. Stock writers
+ * wait for the duration of one rebuild query at most.
+ */
+@Component
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    private static final long GATE_RETRY_NANOS = 1_000_000L;
+
+    private final StoreStockRepository storeStockRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final StockTable[] tables;
+    private final ReentrantReadWriteLock[] locks;
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private final int stripeMask;
+    private volatile boolean ready;
+
+    public StockLedger(StoreStockRepository storeStockRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${procurement.store.ledger.enabled:true}") boolean enabled,
+                       @Value("${procurement.store.ledger.stripes:16}") int stripes) {
+        this.storeStockRepository = storeStockRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        int stripeCount = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.tables = new StockTable[stripeCount];
+        this.locks = new ReentrantReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            tables[i] = new StockTable(64);
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Whether reads may be served from the ledger; false until the first load
+     * completes or when the ledger is disabled.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Stock level for the item, or {@code null} if the item has no stock row.
+     */
+    public StockLevel get(long itemId) {
+        int stripe = stripeOf(itemId);
+        ReentrantReadWriteLock.ReadLock lock = locks[stripe].readLock();
+        lock.lock();
+        try {
+            StockTable table = tables[stripe];
+            int i = table.indexOf(itemId);
+            if (i < 0) {
+                return null;
+            }
+            return new StockLevel(itemId, table.stockIdAt(i), table.availableAt(i), table.reservedAt(i));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a change in available quantity once the current transaction
+     * commits (immediately if there is none). {@code stockId} may be 0 when
+     * the row is known to exist already.
+     */
+    public void recordAvailableDelta(long itemId, long stockId, double delta) {
+        recordDelta(itemId, stockId, delta, 0.0);
+    }
+
+    /**
+     * Applies changes in available and reserved quantity together once the
+     * current transaction commits (immediately if there is none), as when
+     * stock moves into or out of a reservation.
+     */
+    public void recordDelta(long itemId, long stockId, double availableDelta, double reservedDelta) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(itemId, stockId, availableDelta, reservedDelta);
+            return;
+        }
+        pendingDeltas().add(new PendingDelta(itemId, stockId, availableDelta, reservedDelta));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${procurement.store.ledger.reconcile-interval:PT5M}",
+            initialDelayString = "${procurement.store.ledger.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reload();
+    }
+
+    /**
+     * Rebuilds every stripe from {@code store_stocks}. No stock change
+     * commits between the read and the end of the refill.
+     */
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        Integer loaded = readOnlyTransaction.execute(status -> refill());
+        ready = true;
+        log.debug("Stock ledger loaded {} items", loaded);
+    }
+
+    private int refill() {
+        acquireCommitGate();
+        try {
+            List<StockLevel> levels = storeStockRepository.findAllLevels();
+            List<List<StockLevel>> byStripe = new ArrayList<>(tables.length);
+            for (int i = 0; i < tables.length; i++) {
+                byStripe.add(new ArrayList<>());
+            }
+            for (StockLevel level : levels) {
+                byStripe.get(stripeOf(level.itemId())).add(level);
+            }
+            for (int stripe = 0; stripe < tables.length; stripe++) {
+                ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+                lock.lock();
+                try {
+                    StockTable table = tables[stripe];
+                    table.clear();
+                    for (StockLevel level : byStripe.get(stripe)) {
+                        table.put(level.itemId(), level.stockId(),
+                                level.availableQuantity(), level.reservedQuantity());
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return levels.size();
+        } finally {
+            commitGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes the commit gate exclusively without joining its queue, where it
+     * would block newly committing transactions behind those in flight.
+     */
+    private void acquireCommitGate() {
+        while (!commitGate.writeLock().tryLock()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted while waiting to reload the stock ledger");
+            }
+            LockSupport.parkNanos(GATE_RETRY_NANOS);
+        }
+    }
+
+    private void apply(long itemId, long stockId, double availableDelta, double reservedDelta) {
+        int stripe = stripeOf(itemId);
+        ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+        lock.lock();
+        try {
+            tables[stripe].addAvailable(itemId, stockId, availableDelta);
+            if (reservedDelta != 0.0) {
+                tables[stripe].addReserved(itemId, reservedDelta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<PendingDelta> pendingDeltas() {
+        @SuppressWarnings("unchecked")
+        List<PendingDelta> pending = (List<PendingDelta>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<PendingDelta> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean gateHeld;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commitGate.readLock().lock();
+                    gateHeld = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    created.forEach(d -> apply(d.itemId(), d.stockId(), d.availableDelta(), d.reservedDelta()));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockLedger.this);
+                    if (gateHeld) {
+                        gateHeld = false;
+                        commitGate.readLock().unlock();
+                    }
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private int stripeOf(long itemId) {
+        return Long.hashCode(itemId) & stripeMask;
+    }
+
+    private record PendingDelta(long itemId, long stockId, double availableDelta, double reservedDelta) {
+    }
+}
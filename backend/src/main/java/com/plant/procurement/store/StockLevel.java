@@ -0,0 +1,12 @@
+package com.plant.procurement.store;
+
+/**
+ * Quantities of one item's store stock, without the entity or its item.
+ */
+public record StockLevel(
+        Long itemId,
+        Long stockId,
+        Double availableQuantity,
+        Double reservedQuantity
+) {
+}
@@ -0,0 +1,54 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.master.Item;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One append-only change to an item's stock on hand. Rows are only ever
+ * inserted; the running balance is the sum of {@link #quantity} over time.
+ */
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_item_time", columnList = "item_id, moved_at, quantity"),
+        @Index(name = "idx_stock_movements_time", columnList = "moved_at, item_id, quantity")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_seq")
+    @SequenceGenerator(name = "stock_movements_seq", sequenceName = "stock_movements_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
+    private Item item;
+
+    /**
+     * Signed change: positive for receipts and returns, negative for issues.
+     */
+    @Column(nullable = false, updatable = false)
+    private Double quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private StockMovementType sourceType;
+
+    /**
+     * Id of the source document (issue, return or GRN); null for adjustments.
+     */
+    @Column(updatable = false)
+    private Long sourceId;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime movedAt;
+}
@@ -0,0 +1,50 @@
+package com.plant.procurement.store;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    /**
+     * Net movement of one item in {@code [from, to)}; an open {@code from}
+     * means since the beginning of the ledger.
+     */
+    @Query("""
+            select coalesce(sum(m.quantity), 0) from StockMovement m
+            where m.item.id = :itemId
+              and (:from is null or m.movedAt >= :from)
+              and m.movedAt < :to
+            """)
+    double sumForItem(@Param("itemId") Long itemId,
+                      @Param("from") OffsetDateTime from,
+                      @Param("to") OffsetDateTime to);
+
+    /**
+     * Net movement per item in {@code [from, to)}, for items that moved.
+     */
+    @Query("""
+            select new com.plant.procurement.store.StockQuantity(m.item.id, sum(m.quantity))
+            from StockMovement m
+            where (:from is null or m.movedAt >= :from)
+              and m.movedAt < :to
+            group by m.item.id
+            """)
+    List<StockQuantity> sumByItem(@Param("from") OffsetDateTime from,
+                                  @Param("to") OffsetDateTime to);
+
+    /**
+     * Stock rows with no movement history yet, as opening balances of the
+     * quantity on hand (available plus reserved).
+     */
+    @Query("""
+            select new com.plant.procurement.store.StockQuantity(s.item.id, s.availableQuantity + s.reservedQuantity)
+            from StoreStock s
+            where s.availableQuantity + s.reservedQuantity <> 0
+              and not exists (select 1 from StockMovement m where m.item = s.item)
+            """)
+    List<StockQuantity> findUnrecordedOpeningBalances();
+}
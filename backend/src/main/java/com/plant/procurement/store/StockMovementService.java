@@ -0,0 +1,183 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.common.InClauseChunker;
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.master.ItemRepository;
+import com.plant.procurement.store.dto.StockBalanceResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Append-only history of stock changes plus periodic per-item balance
+ * snapshots. A balance as of any time is the latest snapshot at or before
+ * it plus the movements since that snapshot, so reads never replay more
+ * than one period of history.
+ */
+@Service
+public class StockMovementService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementService.class);
+
+    private final StockMovementRepository movementRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final ItemRepository itemRepository;
+    private final InClauseChunker inClauseChunker;
+    private final Duration safetyLag;
+
+    public StockMovementService(StockMovementRepository movementRepository,
+                                StockSnapshotRepository snapshotRepository,
+                                ItemRepository itemRepository,
+                                InClauseChunker inClauseChunker,
+                                @Value("${procurement.store.snapshots.safety-lag:PT5M}") Duration safetyLag) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.itemRepository = itemRepository;
+        this.inClauseChunker = inClauseChunker;
+        this.safetyLag = safetyLag;
+    }
+
+    /**
+     * Appends one movement per item for a source document. Rows are persisted
+     * with the surrounding transaction and go out as a single JDBC batch on flush.
+     */
+    @Transactional
+    public void record(StockMovementType type, Long sourceId, Map<Long, Double> deltasByItemId) {
+        OffsetDateTime movedAt = OffsetDateTime.now();
+        List<StockMovement> movements = new ArrayList<>(deltasByItemId.size());
+        deltasByItemId.forEach((itemId, delta) -> {
+            if (delta != 0) {
+                movements.add(StockMovement.builder()
+                        .item(itemRepository.getReferenceById(itemId))
+                        .quantity(delta)
+                        .sourceType(type)
+                        .sourceId(sourceId)
+                        .movedAt(movedAt)
+                        .build());
+            }
+        });
+        movementRepository.saveAll(movements);
+    }
+
+    @Transactional(readOnly = true)
+    public StockBalanceResponse balanceAsOf(Long itemId, OffsetDateTime at) {
+        Optional<StockSnapshot> snapshot = snapshotRepository
+                .findFirstByItemIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(itemId, at);
+        OffsetDateTime from = snapshot.map(StockSnapshot::getSnapshotAt).orElse(null);
+        double balance = snapshot.map(StockSnapshot::getBalance).orElse(0.0)
+                + movementRepository.sumForItem(itemId, from, at);
+        return new StockBalanceResponse(itemId, at, balance, from);
+    }
+
+    /**
+     * Balances of every item with stock history as of {@code at}. Every item
+     * that moved in a period has a snapshot at its end, so all items share the
+     * same tail: movements since the latest snapshot time at or before {@code at}.
+     */
+    @Transactional(readOnly = true)
+    public List<StockBalanceResponse> balancesAsOf(OffsetDateTime at) {
+        OffsetDateTime from = snapshotRepository.findLatestSnapshotAtOrBefore(at).orElse(null);
+        Map<Long, Double> balances = new TreeMap<>();
+        if (from != null) {
+            for (StockQuantity snapshot : snapshotRepository.findBalancesAt(at)) {
+                balances.put(snapshot.itemId(), snapshot.quantity());
+            }
+        }
+        for (StockQuantity tail : movementRepository.sumByItem(from, at)) {
+            balances.merge(tail.itemId(), tail.quantity(), Double::sum);
+        }
+        List<StockBalanceResponse> result = new ArrayList<>(balances.size());
+        balances.forEach((itemId, quantity) -> result.add(new StockBalanceResponse(itemId, at, quantity, from)));
+        return result;
+    }
+
+    /**
+     * Records current stock of items that have no history yet (e.g. rows that
+     * predate the ledger) as opening movements.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recordOpeningBalances() {
+        Map<Long, Double> openings = new HashMap<>();
+        for (StockQuantity opening : movementRepository.findUnrecordedOpeningBalances()) {
+            openings.put(opening.itemId(), opening.quantity());
+        }
+        if (!openings.isEmpty()) {
+            record(StockMovementType.OPENING, null, openings);
+            log.info("Recorded opening stock movements for {} items", openings.size());
+        }
+    }
+
+    /**
+     * Closes the previous day. Runs a little after midnight, later than the
+     * safety lag, so transactions still in flight at the boundary have
+     * committed their movements.
+     */
+    @Scheduled(cron = "${procurement.store.snapshots.cron:0 15 0 * * *}")
+    @Transactional
+    public void takeDailySnapshots() {
+        takeSnapshots(KeysetPage.startOfDay(LocalDate.now()));
+    }
+
+    /**
+     * Writes a snapshot at {@code cutoff} for every item that moved since the
+     * previous snapshot time, catching up over any missed periods in one step.
+     * <p>
+     * A movement is stamped when it is recorded but only visible once its
+     * transaction commits, so one stamped just before a recent cutoff could
+     * still be in flight and would be left out of the snapshot for good. The
+     * cutoff must therefore lie at least the configured safety lag in the
+     * past, a bound on how long a stock transaction may run.
+     *
+     * @return number of snapshots written
+     */
+    @Transactional
+    public int takeSnapshots(OffsetDateTime cutoff) {
+        OffsetDateTime latestCutoff = OffsetDateTime.now().minus(safetyLag);
+        if (cutoff.isAfter(latestCutoff)) {
+            throw new IllegalArgumentException(
+                    "Snapshot cutoff must be at least " + safetyLag + " in the past; latest allowed: " + latestCutoff);
+        }
+        OffsetDateTime from = snapshotRepository.findLatestSnapshotAt().orElse(null);
+        if (from != null && !from.isBefore(cutoff)) {
+            return 0;
+        }
+        List<StockQuantity> moved = movementRepository.sumByItem(from, cutoff);
+        if (moved.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Double> previous = new HashMap<>();
+        for (StockQuantity balance : inClauseChunker.fetch(
+                moved.stream().map(StockQuantity::itemId).toList(), snapshotRepository::findLatestBalances)) {
+            previous.put(balance.itemId(), balance.quantity());
+        }
+
+        List<StockSnapshot> snapshots = new ArrayList<>(moved.size());
+        for (StockQuantity delta : moved) {
+            snapshots.add(StockSnapshot.builder()
+                    .item(itemRepository.getReferenceById(delta.itemId()))
+                    .snapshotAt(cutoff)
+                    .balance(previous.getOrDefault(delta.itemId(), 0.0) + delta.quantity())
+                    .build());
+        }
+        snapshotRepository.saveAll(snapshots);
+        log.info("Wrote {} stock snapshots at {}", snapshots.size(), cutoff);
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,9 @@
+package com.plant.procurement.store;
+
+public enum StockMovementType {
+    OPENING,
+    ADJUSTMENT,
+    RECEIPT,
+    ISSUE,
+    RETURN
+}
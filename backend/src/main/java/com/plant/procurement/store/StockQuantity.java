@@ -0,0 +1,7 @@
+package com.plant.procurement.store;
+
+/**
+ * An item id with a quantity, read by grouped aggregate queries.
+ */
+public record StockQuantity(Long itemId, Double quantity) {
+}
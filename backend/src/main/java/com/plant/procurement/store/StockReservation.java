@@ -0,0 +1,53 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.RequisitionLine;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Stock set aside for one approved requisition line. The quantity has been
+ * moved from {@link StoreStock#getAvailableQuantity()} to
+ * {@link StoreStock#getReservedQuantity()}; issues against the line consume
+ * it, and whatever is left goes back to available stock at {@link #expiresAt}.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_stock_reservations_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_seq")
+    @SequenceGenerator(name = "stock_reservations_seq", sequenceName = "stock_reservations_seq", allocationSize = 50)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requisition_line_id", nullable = false, unique = true, updatable = false)
+    private RequisitionLine requisitionLine;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
+    private Item item;
+
+    /**
+     * Quantity still held; reduced as the line is issued.
+     */
+    @Column(nullable = false)
+    private Double quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
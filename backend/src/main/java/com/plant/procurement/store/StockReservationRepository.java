@@ -0,0 +1,43 @@
+package com.plant.procurement.store;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r where r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks the reservations held by the given requisition lines, so an issue
+     * and the expiry sweep cannot both act on the same remainder. Rows are
+     * locked in requisition line id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r where r.requisitionLine.id in :lineIds order by r.requisitionLine.id")
+    List<StockReservation> findForUpdateByRequisitionLineIdIn(@Param("lineIds") Collection<Long> lineIds);
+
+    @Query("""
+            select new com.plant.procurement.store.ReservationRequest(l.id, l.item.id, l.quantity - l.issuedQuantity)
+            from RequisitionLine l
+            where l.requisition.id in :requisitionIds
+              and l.quantity > l.issuedQuantity
+            """)
+    List<ReservationRequest> findReservationRequests(@Param("requisitionIds") Collection<Long> requisitionIds);
+
+    @Query("select new com.plant.procurement.store.ReservationExpiry(r.id, r.expiresAt) from StockReservation r")
+    List<ReservationExpiry> findAllExpiries();
+
+    @Query("select r.id from StockReservation r where r.expiresAt <= :now order by r.expiresAt")
+    List<Long> findExpiredIds(@Param("now") OffsetDateTime now, Pageable pageable);
+}
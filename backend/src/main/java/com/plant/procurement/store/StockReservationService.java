@@ -0,0 +1,299 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.common.InClauseChunker;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.RequisitionLine;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.DelayQueue;
+
+/**
+ * Holds stock for requisitions approved by the Plant Head until they are
+ * issued or the reservation lapses.
+ * <p>
+ * Reserving moves quantity from available to reserved stock on the locked
+ * stock rows, so availability checks keep reading the available quantity
+ * (from the {@link StockLedger}) and competing issues are stopped by the
+ * existing conditional UPDATE. Issues against the reserving line draw on the
+ * reservation first.
+ * <p>
+ * Pending expiries sit in an in-memory {@link DelayQueue}, refilled from
+ * {@code stock_reservations} on startup, and a dedicated thread releases each
+ * one as it falls due: the reservation row and its item's stock row are
+ * locked and updated in a short transaction of their own, never a range of
+ * stock rows. A periodic sweep of overdue rows catches reservations queued by
+ * another instance.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final StockReservationRepository stockReservationRepository;
+    private final StoreStockRepository storeStockRepository;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InClauseChunker inClauseChunker;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final DelayQueue<ReservationExpiry> expiries = new DelayQueue<>();
+    private volatile Thread expiryThread;
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+                                   StoreStockRepository storeStockRepository,
+                                   StockLedger stockLedger,
+                                   ApplicationEventPublisher eventPublisher,
+                                   InClauseChunker inClauseChunker,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${procurement.store.reservation.enabled:true}") boolean enabled,
+                                   @Value("${procurement.store.reservation.ttl:P2D}") Duration ttl) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.storeStockRepository = storeStockRepository;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.inClauseChunker = inClauseChunker;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Reserves the unissued quantity of each line of a just-approved
+     * requisition, as far as available stock allows.
+     */
+    @Transactional
+    public void reserve(Collection<RequisitionLine> lines) {
+        List<ReservationRequest> requests = new ArrayList<>(lines.size());
+        for (RequisitionLine line : lines) {
+            double unissued = line.getQuantity() - line.getIssuedQuantity();
+            if (unissued > 0) {
+                requests.add(new ReservationRequest(line.getId(), line.getItem().getId(), unissued));
+            }
+        }
+        reserveAll(requests);
+    }
+
+    /**
+     * Reserves the unissued lines of requisitions approved in bulk, reading
+     * the lines as flat projection rows.
+     */
+    @Transactional
+    public void reserveForRequisitions(Collection<Long> requisitionIds) {
+        if (!enabled || requisitionIds.isEmpty()) {
+            return;
+        }
+        reserveAll(inClauseChunker.fetch(requisitionIds,
+                stockReservationRepository::findReservationRequests));
+    }
+
+    /**
+     * Locks the reservations held by the given requisition lines, keyed by
+     * line id, in ascending line id order across chunks. Lines without a
+     * reservation are absent.
+     */
+    @Transactional
+    public Map<Long, StockReservation> lockForLines(Collection<Long> requisitionLineIds) {
+        Map<Long, StockReservation> byLineId = new HashMap<>();
+        if (!enabled || requisitionLineIds.isEmpty()) {
+            return byLineId;
+        }
+        for (StockReservation reservation : inClauseChunker.fetch(new TreeSet<>(requisitionLineIds),
+                stockReservationRepository::findForUpdateByRequisitionLineIdIn)) {
+            byLineId.put(reservation.getRequisitionLine().getId(), reservation);
+        }
+        return byLineId;
+    }
+
+    /**
+     * Draws up to {@code quantity} from a locked reservation, deleting it once
+     * used up, and returns the amount drawn. The caller takes the same amount
+     * out of the stock row's reserved quantity.
+     */
+    @Transactional
+    public double consume(StockReservation reservation, double quantity) {
+        double drawn = Math.min(quantity, reservation.getQuantity());
+        if (drawn <= 0) {
+            return 0.0;
+        }
+        double remaining = reservation.getQuantity() - drawn;
+        if (remaining <= 0) {
+            stockReservationRepository.delete(reservation);
+        } else {
+            reservation.setQuantity(remaining);
+        }
+        return drawn;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        List<ReservationExpiry> pending = stockReservationRepository.findAllExpiries();
+        expiries.addAll(pending);
+        Thread thread = new Thread(this::runExpiries, "stock-reservation-expiry");
+        thread.setDaemon(true);
+        thread.start();
+        expiryThread = thread;
+        log.debug("Queued {} stock reservation expiries", pending.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = expiryThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Releases overdue reservations the local queue does not know about, such
+     * as those made by another instance.
+     */
+    @Scheduled(fixedDelayString = "${procurement.store.reservation.sweep-interval:PT10M}",
+            initialDelayString = "${procurement.store.reservation.sweep-interval:PT10M}")
+    public void sweepExpired() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ids;
+        do {
+            ids = stockReservationRepository.findExpiredIds(OffsetDateTime.now(), PageRequest.of(0, SWEEP_BATCH_SIZE));
+            ids.forEach(this::release);
+        } while (ids.size() == SWEEP_BATCH_SIZE);
+    }
+
+    /**
+     * Returns a lapsed reservation's remaining quantity to available stock.
+     * A no-op when the reservation was used up or released in the meantime.
+     */
+    public void release(Long reservationId) {
+        Long itemId = transaction.execute(status -> {
+            StockReservation reservation = stockReservationRepository.findByIdForUpdate(reservationId).orElse(null);
+            if (reservation == null || reservation.getExpiresAt().isAfter(OffsetDateTime.now())) {
+                return null;
+            }
+            Long id = reservation.getItem().getId();
+            double quantity = reservation.getQuantity();
+            storeStockRepository.releaseReserved(id, quantity);
+            stockReservationRepository.delete(reservation);
+            stockLedger.recordDelta(id, 0L, quantity, -quantity);
+            return id;
+        });
+        if (itemId != null) {
+            eventPublisher.publishEvent(new StockChangedEvent(Set.of(itemId)));
+        }
+    }
+
+    /**
+     * Locks the affected stock rows in item id order, then moves each line's
+     * reservable quantity from available to reserved on the managed rows so
+     * the commit flushes one UPDATE per item.
+     */
+    private void reserveAll(List<ReservationRequest> requests) {
+        if (!enabled || requests.isEmpty()) {
+            return;
+        }
+        Set<Long> itemIds = new TreeSet<>();
+        requests.forEach(r -> itemIds.add(r.itemId()));
+        Map<Long, StoreStock> stocks = new HashMap<>();
+        for (StoreStock stock : inClauseChunker.fetch(itemIds, storeStockRepository::findForUpdateByItemIdIn)) {
+            stocks.put(stock.getItem().getId(), stock);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime expiresAt = now.plus(ttl);
+        List<StockReservation> reservations = new ArrayList<>();
+        List<ReservationRequest> ordered = requests.stream()
+                .sorted(Comparator.comparing(ReservationRequest::itemId)
+                        .thenComparing(ReservationRequest::requisitionLineId))
+                .toList();
+        for (ReservationRequest request : ordered) {
+            StoreStock stock = stocks.get(request.itemId());
+            if (stock == null) {
+                continue;
+            }
+            double quantity = Math.min(request.quantity(), stock.getAvailableQuantity());
+            if (quantity <= 0) {
+                continue;
+            }
+            stock.setAvailableQuantity(stock.getAvailableQuantity() - quantity);
+            stock.setReservedQuantity(stock.getReservedQuantity() + quantity);
+            stockLedger.recordDelta(request.itemId(), 0L, -quantity, quantity);
+            reservations.add(StockReservation.builder()
+                    .requisitionLine(entityManager.getReference(RequisitionLine.class, request.requisitionLineId()))
+                    .item(entityManager.getReference(Item.class, request.itemId()))
+                    .quantity(quantity)
+                    .expiresAt(expiresAt)
+                    .createdAt(now)
+                    .build());
+        }
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        List<ReservationExpiry> queued = stockReservationRepository.saveAll(reservations).stream()
+                .map(r -> new ReservationExpiry(r.getId(), r.getExpiresAt()))
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    expiries.addAll(queued);
+                }
+            });
+        } else {
+            expiries.addAll(queued);
+        }
+        eventPublisher.publishEvent(new StockChangedEvent(
+                Set.copyOf(reservations.stream().map(r -> r.getItem().getId()).toList())));
+    }
+
+    private void runExpiries() {
+        while (!Thread.currentThread().isInterrupted()) {
+            ReservationExpiry expiry;
+            try {
+                expiry = expiries.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                release(expiry.reservationId());
+            } catch (RuntimeException e) {
+                log.warn("Could not release stock reservation {}; the sweep will retry", expiry.reservationId(), e);
+            }
+        }
+    }
+}
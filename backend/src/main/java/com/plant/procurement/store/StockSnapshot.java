@@ -0,0 +1,43 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.master.Item;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An item's balance at a period boundary: the sum of all its movements with
+ * {@code movedAt} before {@link #snapshotAt}. Written only for items that moved
+ * during the period, so an item's latest snapshot stays valid until it moves again.
+ */
+@Entity
+@Table(name = "stock_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_snapshots_item_time", columnNames = {"item_id", "snapshot_at"})
+}, indexes = {
+        @Index(name = "idx_stock_snapshots_time", columnList = "snapshot_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshots_seq")
+    @SequenceGenerator(name = "stock_snapshots_seq", sequenceName = "stock_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
+    private Item item;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime snapshotAt;
+
+    @Column(nullable = false, updatable = false)
+    private Double balance;
+}
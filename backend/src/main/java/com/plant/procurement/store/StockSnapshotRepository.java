@@ -0,0 +1,42 @@
+package com.plant.procurement.store;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByItemIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(Long itemId,
+                                                                                            OffsetDateTime at);
+
+    @Query("select max(s.snapshotAt) from StockSnapshot s")
+    Optional<OffsetDateTime> findLatestSnapshotAt();
+
+    @Query("select max(s.snapshotAt) from StockSnapshot s where s.snapshotAt <= :at")
+    Optional<OffsetDateTime> findLatestSnapshotAtOrBefore(@Param("at") OffsetDateTime at);
+
+    /**
+     * Each item's most recent balance at or before {@code at}, optionally
+     * limited to some items.
+     */
+    @Query("""
+            select new com.plant.procurement.store.StockQuantity(s.item.id, s.balance)
+            from StockSnapshot s
+            where s.snapshotAt = (select max(s2.snapshotAt) from StockSnapshot s2
+                                  where s2.item = s.item and s2.snapshotAt <= :at)
+            """)
+    List<StockQuantity> findBalancesAt(@Param("at") OffsetDateTime at);
+
+    @Query("""
+            select new com.plant.procurement.store.StockQuantity(s.item.id, s.balance)
+            from StockSnapshot s
+            where s.item.id in :itemIds
+              and s.snapshotAt = (select max(s2.snapshotAt) from StockSnapshot s2 where s2.item = s.item)
+            """)
+    List<StockQuantity> findLatestBalances(@Param("itemIds") Collection<Long> itemIds);
+}
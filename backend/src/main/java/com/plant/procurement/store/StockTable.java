@@ -0,0 +1,127 @@
+package com.plant.procurement.store;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from item id to stock quantities, kept in
+ * parallel primitive arrays so lookups allocate nothing. Not thread-safe;
+ * {@link StockLedger} guards each table with its stripe lock.
+ */
+final class StockTable {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] stockIds;
+    private double[] available;
+    private double[] reserved;
+    private int size;
+
+    StockTable(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Slot index for {@code itemId}, or -1 when absent. Item ids are database
+     * identifiers and therefore never 0, which marks an empty slot.
+     */
+    int indexOf(long itemId) {
+        int mask = keys.length - 1;
+        int i = mix(itemId) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == itemId) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    long stockIdAt(int index) {
+        return stockIds[index];
+    }
+
+    double availableAt(int index) {
+        return available[index];
+    }
+
+    double reservedAt(int index) {
+        return reserved[index];
+    }
+
+    void put(long itemId, long stockId, double availableQuantity, double reservedQuantity) {
+        int i = slotFor(itemId);
+        stockIds[i] = stockId;
+        available[i] = availableQuantity;
+        reserved[i] = reservedQuantity;
+    }
+
+    void addAvailable(long itemId, long stockId, double delta) {
+        int i = slotFor(itemId);
+        if (stockId != 0L) {
+            stockIds[i] = stockId;
+        }
+        available[i] += delta;
+    }
+
+    void addReserved(long itemId, double delta) {
+        int i = slotFor(itemId);
+        reserved[i] += delta;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private int slotFor(long itemId) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        int i = mix(itemId) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == itemId) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = itemId;
+        stockIds[i] = 0L;
+        available[i] = 0.0;
+        reserved[i] = 0.0;
+        size++;
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldStockIds = stockIds;
+        double[] oldAvailable = available;
+        double[] oldReserved = reserved;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldStockIds[i], oldAvailable[i], oldReserved[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        stockIds = new long[capacity];
+        available = new double[capacity];
+        reserved = new double[capacity];
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
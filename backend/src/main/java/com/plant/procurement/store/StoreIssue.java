@@ -22,7 +22,8 @@ import java.util.List;
 public class StoreIssue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_issues_seq")
+    @SequenceGenerator(name = "store_issues_seq", sequenceName = "store_issues_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
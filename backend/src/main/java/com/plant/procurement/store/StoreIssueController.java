@@ -1,14 +1,16 @@
 package com.plant.procurement.store;
 
+import com.plant.procurement.common.ListFilter;
 import com.plant.procurement.store.dto.StoreIssueCreateRequest;
 import com.plant.procurement.store.dto.StoreIssueResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/store/issues")
@@ -27,10 +29,15 @@ public class StoreIssueController {
     }
 
     @GetMapping
-    public List<StoreIssueResponse> list() {
-        return storeIssueRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<StoreIssueResponse>> list(
+            @RequestParam(required = false) StoreIssueStatus status,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return storeService.listIssues(ListFilter.of(status, departmentId, from, to, cursor, limit))
+                .toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -43,17 +50,14 @@ public class StoreIssueController {
 
     @GetMapping("/requisition/{requisitionId}")
     public List<StoreIssueResponse> getByRequisition(@PathVariable Long requisitionId) {
-        return storeIssueRepository.findByRequisitionId(requisitionId).stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return storeService.listIssuesByRequisition(requisitionId);
     }
 
     @PostMapping
     public ResponseEntity<StoreIssueResponse> create(@Valid @RequestBody StoreIssueCreateRequest request) {
-        StoreIssue created = storeService.createIssue(request);
-        StoreIssueResponse response = mapper.toResponse(created);
-        return ResponseEntity.created(URI.create("/api/store/issues/" + created.getId()))
-                .body(response);
+        StoreIssueResponse created = storeService.createIssue(request);
+        return ResponseEntity.created(URI.create("/api/store/issues/" + created.id()))
+                .body(created);
     }
 }
 
@@ -0,0 +1,25 @@
+package com.plant.procurement.store;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * One store issue line with its header fields, as written by the export.
+ */
+public record StoreIssueExportRow(
+        Long issueId,
+        String issueNumber,
+        StoreIssueStatus status,
+        LocalDate issueDate,
+        Long requisitionId,
+        String departmentCode,
+        String issuedBy,
+        OffsetDateTime createdAt,
+        Long lineId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double requestedQuantity,
+        Double issuedQuantity
+) {
+}
@@ -17,7 +17,8 @@ import lombok.NoArgsConstructor;
 public class StoreIssueLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_issue_lines_seq")
+    @SequenceGenerator(name = "store_issue_lines_seq", sequenceName = "store_issue_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
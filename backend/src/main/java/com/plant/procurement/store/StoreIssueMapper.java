@@ -3,6 +3,7 @@ package com.plant.procurement.store;
 import com.plant.procurement.master.dto.DepartmentMapper;
 import com.plant.procurement.master.dto.ItemMapper;
 import com.plant.procurement.requisition.RequisitionMapper;
+import com.plant.procurement.requisition.dto.RequisitionListItemResponse;
 import com.plant.procurement.store.dto.StoreIssueLineResponse;
 import com.plant.procurement.store.dto.StoreIssueResponse;
 import org.springframework.stereotype.Component;
@@ -29,10 +30,26 @@ public class StoreIssueMapper {
             return null;
         }
 
+        return toResponse(issue, requisitionMapper.toListItemResponse(issue.getRequisition()));
+    }
+
+    /**
+     * Maps an issue whose requisition line count was read by a COUNT query,
+     * so the requisition's lines are never initialized.
+     */
+    public StoreIssueResponse toResponse(StoreIssue issue, int requisitionLineCount) {
+        if (issue == null) {
+            return null;
+        }
+
+        return toResponse(issue, requisitionMapper.toListItemResponse(issue.getRequisition(), requisitionLineCount));
+    }
+
+    private StoreIssueResponse toResponse(StoreIssue issue, RequisitionListItemResponse requisition) {
         return new StoreIssueResponse(
                 issue.getId(),
                 issue.getIssueNumber(),
-                requisitionMapper.toListItemResponse(issue.getRequisition()),
+                requisition,
                 departmentMapper.toResponse(issue.getDepartment()),
                 issue.getIssuedBy(),
                 issue.getIssueDate(),
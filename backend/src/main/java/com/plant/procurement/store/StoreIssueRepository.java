@@ -1,10 +1,19 @@
 package com.plant.procurement.store;
 
+import com.plant.procurement.common.StreamingQueries;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StoreIssueRepository extends JpaRepository<StoreIssue, Long> {
 
@@ -16,5 +25,29 @@ public interface StoreIssueRepository extends JpaRepository<StoreIssue, Long> {
 
     @EntityGraph(attributePaths = {"requisition", "requisition.department", "department", "lines", "lines.item"})
     List<StoreIssue> findByRequisitionId(Long requisitionId);
-}
 
+    @EntityGraph(attributePaths = {"lines", "lines.item"})
+    List<StoreIssue> findWithLinesByIdIn(Collection<Long> ids);
+
+    /**
+     * Store issue lines with header fields for export, oldest document first.
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("""
+            select new com.plant.procurement.store.StoreIssueExportRow(
+                si.id, si.issueNumber, si.status, si.issueDate, si.requisition.id, d.code, si.issuedBy,
+                si.createdAt, l.id, i.code, i.description, i.uom, l.requestedQuantity, l.issuedQuantity)
+            from StoreIssueLine l
+            join l.storeIssue si
+            join si.department d
+            join l.item i
+            where (:departmentId is null or d.id = :departmentId)
+              and (:createdFrom is null or si.createdAt >= :createdFrom)
+              and (:createdBefore is null or si.createdAt < :createdBefore)
+            order by si.id, l.id
+            """)
+    Stream<StoreIssueExportRow> streamExportRows(@Param("departmentId") Long departmentId,
+                                                 @Param("createdFrom") OffsetDateTime createdFrom,
+                                                 @Param("createdBefore") OffsetDateTime createdBefore);
+}
@@ -21,7 +21,8 @@ import java.util.List;
 public class StoreReturn {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_returns_seq")
+    @SequenceGenerator(name = "store_returns_seq", sequenceName = "store_returns_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -1,11 +1,15 @@
 package com.plant.procurement.store;
 
+import com.plant.procurement.common.ListFilter;
 import com.plant.procurement.store.dto.StoreReturnCreateRequest;
+import com.plant.procurement.store.dto.StoreReturnResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,29 +18,39 @@ public class StoreReturnController {
 
     private final StoreReturnRepository repository;
     private final StoreService service;
+    private final StoreReturnMapper mapper;
 
     public StoreReturnController(StoreReturnRepository repository,
-                                 StoreService service) {
+                                 StoreService service,
+                                 StoreReturnMapper mapper) {
         this.repository = repository;
         this.service = service;
+        this.mapper = mapper;
     }
 
     @GetMapping
-    public List<StoreReturn> list() {
-        return repository.findAll();
+    public ResponseEntity<List<StoreReturnResponse>> list(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.listReturns(ListFilter.of(null, departmentId, from, to, cursor, limit))
+                .toResponseEntity();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StoreReturn> get(@PathVariable Long id) {
+    public ResponseEntity<StoreReturnResponse> get(@PathVariable Long id) {
         return repository.findById(id)
+                .map(mapper::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<StoreReturn> create(@Valid @RequestBody StoreReturnCreateRequest request) {
-        StoreReturn created = service.createReturn(request);
-        return ResponseEntity.created(URI.create("/api/store/returns/" + created.getId()))
+    public ResponseEntity<StoreReturnResponse> create(@Valid @RequestBody StoreReturnCreateRequest request) {
+        StoreReturnResponse created = service.createReturn(request);
+        return ResponseEntity.created(URI.create("/api/store/returns/" + created.id()))
                 .body(created);
     }
 }
@@ -0,0 +1,24 @@
+package com.plant.procurement.store;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * One store return line with its header fields, as written by the export.
+ */
+public record StoreReturnExportRow(
+        Long returnId,
+        String returnNumber,
+        LocalDate returnDate,
+        Long storeIssueId,
+        String departmentCode,
+        String returnedBy,
+        OffsetDateTime createdAt,
+        Long lineId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double returnedQuantity,
+        String reason
+) {
+}
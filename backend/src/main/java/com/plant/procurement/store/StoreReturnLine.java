@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class StoreReturnLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_return_lines_seq")
+    @SequenceGenerator(name = "store_return_lines_seq", sequenceName = "store_return_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
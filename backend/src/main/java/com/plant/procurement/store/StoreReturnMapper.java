@@ -0,0 +1,58 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.master.dto.DepartmentMapper;
+import com.plant.procurement.master.dto.ItemMapper;
+import com.plant.procurement.store.dto.StoreReturnLineResponse;
+import com.plant.procurement.store.dto.StoreReturnResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class StoreReturnMapper {
+
+    private final DepartmentMapper departmentMapper;
+    private final ItemMapper itemMapper;
+
+    public StoreReturnMapper(DepartmentMapper departmentMapper, ItemMapper itemMapper) {
+        this.departmentMapper = departmentMapper;
+        this.itemMapper = itemMapper;
+    }
+
+    public StoreReturnResponse toResponse(StoreReturn storeReturn) {
+        if (storeReturn == null) {
+            return null;
+        }
+
+        return new StoreReturnResponse(
+                storeReturn.getId(),
+                storeReturn.getReturnNumber(),
+                storeReturn.getStoreIssue() != null ? storeReturn.getStoreIssue().getId() : null,
+                departmentMapper.toResponse(storeReturn.getDepartment()),
+                storeReturn.getReturnedBy(),
+                storeReturn.getReturnDate(),
+                storeReturn.getRemarks(),
+                storeReturn.getLines() != null
+                        ? storeReturn.getLines().stream()
+                        .map(this::toLineResponse)
+                        .collect(Collectors.toList())
+                        : null,
+                storeReturn.getCreatedAt(),
+                storeReturn.getUpdatedAt()
+        );
+    }
+
+    private StoreReturnLineResponse toLineResponse(StoreReturnLine line) {
+        if (line == null) {
+            return null;
+        }
+
+        return new StoreReturnLineResponse(
+                line.getId(),
+                itemMapper.toResponse(line.getItem()),
+                line.getStoreIssueLine() != null ? line.getStoreIssueLine().getId() : null,
+                line.getReturnedQuantity(),
+                line.getReason()
+        );
+    }
+}
@@ -1,17 +1,50 @@
 package com.plant.procurement.store;
 
+import com.plant.procurement.common.StreamingQueries;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StoreReturnRepository extends JpaRepository<StoreReturn, Long> {
 
-    @EntityGraph(attributePaths = {"storeIssue", "department", "lines", "lines.item"})
+    @EntityGraph(attributePaths = {"department", "lines", "lines.item"})
     Optional<StoreReturn> findById(Long id);
 
-    @EntityGraph(attributePaths = {"storeIssue", "department", "lines", "lines.item"})
+    @EntityGraph(attributePaths = {"department", "lines", "lines.item"})
     List<StoreReturn> findAll();
-}
 
+    @EntityGraph(attributePaths = {"lines", "lines.item"})
+    List<StoreReturn> findWithLinesByIdIn(Collection<Long> ids);
+
+    /**
+     * Store return lines with header fields for export, oldest document first.
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("""
+            select new com.plant.procurement.store.StoreReturnExportRow(
+                sr.id, sr.returnNumber, sr.returnDate, sr.storeIssue.id, d.code, sr.returnedBy, sr.createdAt,
+                l.id, i.code, i.description, i.uom, l.returnedQuantity, l.reason)
+            from StoreReturnLine l
+            join l.storeReturn sr
+            join sr.department d
+            join l.item i
+            where (:departmentId is null or d.id = :departmentId)
+              and (:createdFrom is null or sr.createdAt >= :createdFrom)
+              and (:createdBefore is null or sr.createdAt < :createdBefore)
+            order by sr.id, l.id
+            """)
+    Stream<StoreReturnExportRow> streamExportRows(@Param("departmentId") Long departmentId,
+                                                  @Param("createdFrom") OffsetDateTime createdFrom,
+                                                  @Param("createdBefore") OffsetDateTime createdBefore);
+}
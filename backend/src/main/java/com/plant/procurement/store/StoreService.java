@@ -1,88 +1,167 @@
 package com.plant.procurement.store;
 
+import com.plant.procurement.analytics.ConsumptionService;
+import com.plant.procurement.common.InClauseChunker;
+import com.plant.procurement.common.KeysetCursor;
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.common.ListPageQuery;
+import com.plant.procurement.common.ProcurementMetrics;
 import com.plant.procurement.master.Department;
-import com.plant.procurement.master.DepartmentRepository;
 import com.plant.procurement.master.Item;
 import com.plant.procurement.master.ItemRepository;
+import com.plant.procurement.master.MasterDataCache;
 import com.plant.procurement.requisition.Requisition;
 import com.plant.procurement.requisition.RequisitionLine;
+import com.plant.procurement.requisition.RequisitionLineCount;
+import com.plant.procurement.requisition.RequisitionLineRepository;
 import com.plant.procurement.requisition.RequisitionRepository;
 import com.plant.procurement.requisition.RequisitionStatus;
 import com.plant.procurement.store.dto.StoreIssueCreateRequest;
 import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import com.plant.procurement.store.dto.StoreReturnResponse;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class StoreService {
 
+    /** Issue headers; lines are loaded separately for the returned rows only. */
+    private static final String ISSUE_PAGE_SELECT = """
+            select i from StoreIssue i
+            left join fetch i.requisition r
+            left join fetch r.department
+            left join fetch i.department""";
+    /** Return headers; returns carry no status, so only department and date filters apply. */
+    private static final String RETURN_PAGE_SELECT = """
+            select r from StoreReturn r
+            left join fetch r.department""";
+
     private final StoreStockRepository storeStockRepository;
     private final StoreIssueRepository storeIssueRepository;
     private final StoreReturnRepository storeReturnRepository;
     private final RequisitionRepository requisitionRepository;
+    private final RequisitionLineRepository requisitionLineRepository;
     private final ItemRepository itemRepository;
-    private final DepartmentRepository departmentRepository;
+    private final MasterDataCache masterDataCache;
+    private final StoreIssueMapper storeIssueMapper;
+    private final StoreReturnMapper storeReturnMapper;
+    private final StockLedger stockLedger;
+    private final StockMovementService stockMovementService;
+    private final StockReservationService stockReservationService;
+    private final ConsumptionService consumptionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InClauseChunker inClauseChunker;
+    private final ProcurementMetrics procurementMetrics;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ListPageQuery listPageQuery;
 
     public StoreService(StoreStockRepository storeStockRepository,
                        StoreIssueRepository storeIssueRepository,
                        StoreReturnRepository storeReturnRepository,
                        RequisitionRepository requisitionRepository,
+                       RequisitionLineRepository requisitionLineRepository,
                        ItemRepository itemRepository,
-                       DepartmentRepository departmentRepository) {
+                       MasterDataCache masterDataCache,
+                       StoreIssueMapper storeIssueMapper,
+                       StoreReturnMapper storeReturnMapper,
+                       StockLedger stockLedger,
+                       StockMovementService stockMovementService,
+                       StockReservationService stockReservationService,
+                       ConsumptionService consumptionService,
+                       ApplicationEventPublisher eventPublisher,
+                       InClauseChunker inClauseChunker,
+                       ProcurementMetrics procurementMetrics,
+                       EntityManager entityManager,
+                       JdbcTemplate jdbcTemplate,
+                       ListPageQuery listPageQuery) {
         this.storeStockRepository = storeStockRepository;
         this.storeIssueRepository = storeIssueRepository;
         this.storeReturnRepository = storeReturnRepository;
         this.requisitionRepository = requisitionRepository;
+        this.requisitionLineRepository = requisitionLineRepository;
         this.itemRepository = itemRepository;
-        this.departmentRepository = departmentRepository;
+        this.masterDataCache = masterDataCache;
+        this.storeIssueMapper = storeIssueMapper;
+        this.storeReturnMapper = storeReturnMapper;
+        this.stockLedger = stockLedger;
+        this.stockMovementService = stockMovementService;
+        this.stockReservationService = stockReservationService;
+        this.consumptionService = consumptionService;
+        this.eventPublisher = eventPublisher;
+        this.inClauseChunker = inClauseChunker;
+        this.procurementMetrics = procurementMetrics;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.listPageQuery = listPageQuery;
     }
 
     /**
      * Check stock availability for items.
-     * Returns list of items with available quantities.
+     * Returns one entry per requested id, in request order, with zero-stock
+     * placeholders for items that have never been stocked. Items (and, before
+     * the ledger is loaded, stock rows) are fetched with chunked IN-list queries.
      */
     @Transactional(readOnly = true)
     public List<StoreStock> checkStockAvailability(List<Long> itemIds) {
-        List<StoreStock> stocks = new ArrayList<>();
+        Map<Long, StoreStock> byItemId = new HashMap<>();
+        if (stockLedger.isReady()) {
+            for (Item item : inClauseChunker.fetch(itemIds, itemRepository::findAllById)) {
+                StockLevel level = stockLedger.get(item.getId());
+                byItemId.put(item.getId(), level != null ? toStock(item, level) : zeroStock(item));
+            }
+        } else {
+            for (StoreStock stock : inClauseChunker.fetch(itemIds, storeStockRepository::findByItemIdIn)) {
+                byItemId.put(stock.getItem().getId(), stock);
+            }
+            List<Long> unstocked = itemIds.stream().filter(id -> !byItemId.containsKey(id)).toList();
+            for (Item item : inClauseChunker.fetch(unstocked, itemRepository::findAllById)) {
+                byItemId.put(item.getId(), zeroStock(item));
+            }
+        }
+
+        List<StoreStock> stocks = new ArrayList<>(itemIds.size());
         for (Long itemId : itemIds) {
-            storeStockRepository.findByItemId(itemId)
-                    .ifPresentOrElse(
-                            stocks::add,
-                            () -> {
-                                // Create zero stock entry if item doesn't exist in store
-                                Item item = itemRepository.findById(itemId)
-                                        .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + itemId));
-                                StoreStock zeroStock = StoreStock.builder()
-                                        .item(item)
-                                        .availableQuantity(0.0)
-                                        .reservedQuantity(0.0)
-                                        .build();
-                                stocks.add(zeroStock);
-                            }
-                    );
+            StoreStock stock = byItemId.get(itemId);
+            if (stock == null) {
+                throw new IllegalArgumentException("Invalid itemId: " + itemId);
+            }
+            stocks.add(stock);
         }
         return stocks;
     }
 
     /**
-     * Get stock for a specific item.
+     * Get stock for a specific item. Quantities come from the in-memory
+     * {@link StockLedger} once it is loaded.
      */
     @Transactional(readOnly = true)
     public StoreStock getStockForItem(Long itemId) {
+        if (stockLedger.isReady()) {
+            Item item = masterDataCache.findItem(itemId)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + itemId));
+            StockLevel level = stockLedger.get(itemId);
+            return level != null ? toStock(item, level) : zeroStock(item);
+        }
         return storeStockRepository.findByItemId(itemId)
                 .orElseGet(() -> {
-                    Item item = itemRepository.findById(itemId)
+                    Item item = masterDataCache.findItem(itemId)
                             .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + itemId));
-                    return StoreStock.builder()
-                            .item(item)
-                            .availableQuantity(0.0)
-                            .reservedQuantity(0.0)
-                            .build();
+                    return zeroStock(item);
                 });
     }
 
@@ -94,12 +173,64 @@ public class StoreService {
         return storeStockRepository.findAll();
     }
 
+    /**
+     * Keyset page of store issues, newest first, with lines batch-loaded for
+     * the returned rows only and mapped inside the read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<StoreIssueResponse> listIssues(ListFilter<StoreIssueStatus> filter) {
+        List<StoreIssue> rows = listPageQuery.fetch(ISSUE_PAGE_SELECT, StoreIssue.class, "i", filter);
+        KeysetPage<StoreIssue> page = KeysetPage.of(rows, filter.limit(),
+                i -> new KeysetCursor(i.getCreatedAt(), i.getId()));
+        if (!page.items().isEmpty()) {
+            storeIssueRepository.findWithLinesByIdIn(page.items().stream().map(StoreIssue::getId).toList());
+        }
+        return new KeysetPage<>(toIssueResponses(page.items()), page.nextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public List<StoreIssueResponse> listIssuesByRequisition(Long requisitionId) {
+        return toIssueResponses(storeIssueRepository.findByRequisitionId(requisitionId));
+    }
+
+    /**
+     * Maps issues with their requisitions' line counts taken from one grouped
+     * COUNT, instead of initializing every requisition's lines collection.
+     */
+    private List<StoreIssueResponse> toIssueResponses(List<StoreIssue> issues) {
+        Map<Long, Long> lineCounts = new HashMap<>();
+        List<Long> requisitionIds = issues.stream().map(i -> i.getRequisition().getId()).toList();
+        for (RequisitionLineCount count : inClauseChunker.fetch(requisitionIds, requisitionRepository::countLinesByRequisitionIds)) {
+            lineCounts.put(count.requisitionId(), count.lineCount());
+        }
+        return issues.stream()
+                .map(i -> storeIssueMapper.toResponse(i, lineCounts.getOrDefault(i.getRequisition().getId(), 0L).intValue()))
+                .toList();
+    }
+
+    /**
+     * Keyset page of store returns, newest first, with lines batch-loaded for
+     * the returned rows only. The status filter is ignored as returns have none.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<StoreReturnResponse> listReturns(ListFilter<?> filter) {
+        List<StoreReturn> rows = listPageQuery.fetch(RETURN_PAGE_SELECT, StoreReturn.class, "r",
+                filter.withoutStatus());
+        KeysetPage<StoreReturn> page = KeysetPage.of(rows, filter.limit(),
+                r -> new KeysetCursor(r.getCreatedAt(), r.getId()));
+        if (!page.items().isEmpty()) {
+            storeReturnRepository.findWithLinesByIdIn(page.items().stream().map(StoreReturn::getId).toList());
+        }
+        return page.map(storeReturnMapper::toResponse);
+    }
+
     /**
      * Create a store issue against an approved requisition.
      * Supports partial issue - can issue less than requested quantity.
+     * The response is built from the managed graph, without reloading it.
      */
     @Transactional
-    public StoreIssue createIssue(StoreIssueCreateRequest request) {
+    public StoreIssueResponse createIssue(StoreIssueCreateRequest request) {
         // Load requisition with all associations needed for issue processing
         Requisition requisition = requisitionRepository.findById(request.requisitionId())
                 .orElseThrow(() -> new IllegalArgumentException("Requisition not found"));
@@ -108,11 +239,8 @@ public class StoreService {
             throw new IllegalStateException("Requisition must be APPROVED before issuing");
         }
 
-        // Fetch any existing issues for this requisition so we don't over-issue
-        List<StoreIssue> existingIssues = storeIssueRepository.findByRequisitionId(requisition.getId());
-
-        Department department = departmentRepository.findById(requisition.getDepartment().getId())
-                .orElseThrow(() -> new IllegalArgumentException("Department not found"));
+        // Department was fetched with the requisition graph
+        Department department = requisition.getDepartment();
 
         StoreIssue issue = StoreIssue.builder()
                 .requisition(requisition)
@@ -125,23 +253,31 @@ public class StoreService {
                 .updatedAt(OffsetDateTime.now())
                 .build();
 
+        Map<Long, RequisitionLine> reqLinesById = new HashMap<>();
+        for (RequisitionLine line : requisition.getLines()) {
+            reqLinesById.put(line.getId(), line);
+        }
+        // Stock reserved for these lines at approval is drawn on first
+        Map<Long, StockReservation> reservations = stockReservationService.lockForLines(
+                request.lines().stream().map(StoreIssueLineRequest::requisitionLineId).toList());
+
         boolean allFullyIssued = true;
         boolean anyIssued = false;
+        // Totals per item and per line, applied after the loop in ascending id order
+        Map<Long, Double> issuedByItemId = new TreeMap<>();
+        Map<Long, Double> fromReservedByItemId = new HashMap<>();
+        Map<Long, Double> issuedByLineId = new TreeMap<>();
+        Map<Long, Double> drawnByLineId = new HashMap<>();
 
         for (StoreIssueLineRequest lineReq : request.lines()) {
-            RequisitionLine reqLine = requisition.getLines().stream()
-                    .filter(line -> line.getId().equals(lineReq.requisitionLineId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Requisition line not found: " + lineReq.requisitionLineId()));
+            RequisitionLine reqLine = reqLinesById.get(lineReq.requisitionLineId());
+            if (reqLine == null) {
+                throw new IllegalArgumentException(
+                        "Requisition line not found: " + lineReq.requisitionLineId());
+            }
 
             // How much has already been issued for this requisition line?
-            double alreadyIssued = existingIssues.stream()
-                    .flatMap(existingIssue -> existingIssue.getLines().stream())
-                    .filter(line -> line.getRequisitionLine() != null
-                            && line.getRequisitionLine().getId().equals(reqLine.getId()))
-                    .mapToDouble(StoreIssueLine::getIssuedQuantity)
-                    .sum();
+            double alreadyIssued = reqLine.getIssuedQuantity();
 
             double remainingQuantity = reqLine.getQuantity() - alreadyIssued;
 
@@ -157,15 +293,6 @@ public class StoreService {
                                 ", Attempted: " + lineReq.issuedQuantity());
             }
 
-            // Check stock availability
-            StoreStock stock = getStockForItem(reqLine.getItem().getId());
-            if (lineReq.issuedQuantity() > stock.getAvailableQuantity()) {
-                throw new IllegalStateException(
-                        "Insufficient stock for item: " + reqLine.getItem().getCode() +
-                                ". Available: " + stock.getAvailableQuantity() +
-                                ", Requested: " + lineReq.issuedQuantity());
-            }
-
             StoreIssueLine issueLine = StoreIssueLine.builder()
                     .storeIssue(issue)
                     .item(reqLine.getItem())
@@ -175,9 +302,19 @@ public class StoreService {
                     .build();
             issue.getLines().add(issueLine);
 
-            // Update stock
-            stock.setAvailableQuantity(stock.getAvailableQuantity() - lineReq.issuedQuantity());
-            storeStockRepository.save(stock);
+            if (lineReq.issuedQuantity() > 0) {
+                StockReservation reservation = reservations.get(reqLine.getId());
+                double fromReserved = reservation != null
+                        ? Math.min(lineReq.issuedQuantity(),
+                                reservation.getQuantity() - drawnByLineId.getOrDefault(reqLine.getId(), 0.0))
+                        : 0.0;
+                if (fromReserved > 0) {
+                    drawnByLineId.merge(reqLine.getId(), fromReserved, Double::sum);
+                    fromReservedByItemId.merge(reqLine.getItem().getId(), fromReserved, Double::sum);
+                }
+                issuedByItemId.merge(reqLine.getItem().getId(), lineReq.issuedQuantity(), Double::sum);
+                issuedByLineId.merge(reqLine.getId(), lineReq.issuedQuantity(), Double::sum);
+            }
 
             if (alreadyIssued + lineReq.issuedQuantity() < reqLine.getQuantity()) {
                 allFullyIssued = false;
@@ -191,6 +328,26 @@ public class StoreService {
             throw new IllegalStateException("At least one line must have issued quantity > 0");
         }
 
+        // Check and update stock and the lines' running totals in conditional
+        // UPDATEs, one per item and per line. Stock rows are taken in item id
+        // order, as receipts and reservations take them, so concurrent issues
+        // sharing items wait on each other instead of deadlocking.
+        Map<Long, Item> itemsById = new HashMap<>();
+        requisition.getLines().forEach(line -> itemsById.put(line.getItem().getId(), line.getItem()));
+        issuedByItemId.forEach((itemId, quantity) ->
+                decrementStock(itemsById.get(itemId), quantity, fromReservedByItemId.getOrDefault(itemId, 0.0)));
+        issuedByLineId.forEach((lineId, quantity) -> {
+            if (requisitionLineRepository.addIssuedQuantity(lineId, quantity) == 0) {
+                throw new IllegalStateException(
+                        "Requisition line was issued concurrently for item: " +
+                                reqLinesById.get(lineId).getItem().getCode() + ". Reload and retry.");
+            }
+        });
+
+        // Reservation changes are applied after the per-line UPDATEs so they
+        // flush as one batch rather than ahead of each native statement
+        drawnByLineId.forEach((lineId, drawn) -> stockReservationService.consume(reservations.get(lineId), drawn));
+
         // Determine status
         if (allFullyIssued) {
             issue.setStatus(StoreIssueStatus.ISSUED);
@@ -199,8 +356,11 @@ public class StoreService {
         }
 
         StoreIssue saved = storeIssueRepository.save(issue);
-        return storeIssueRepository.findById(saved.getId())
-                .orElse(saved);
+        stockMovementService.record(StockMovementType.ISSUE, saved.getId(), negate(issuedByItemId));
+        consumptionService.recordIssued(department.getId(), saved.getIssueDate(), issuedByItemId);
+        eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(issuedByItemId.keySet())));
+        procurementMetrics.recordLines(ProcurementMetrics.Document.STORE_ISSUE, saved.getLines().size());
+        return storeIssueMapper.toResponse(saved);
     }
 
     /**
@@ -212,27 +372,65 @@ public class StoreService {
             throw new IllegalArgumentException("Quantity must be greater than 0");
         }
 
+        incrementStock(itemId, quantity);
+        stockMovementService.record(StockMovementType.ADJUSTMENT, null, Map.of(itemId, quantity));
+        eventPublisher.publishEvent(new StockChangedEvent(Set.of(itemId)));
+
         StoreStock stock = storeStockRepository.findByItemId(itemId)
-                .orElseGet(() -> {
-                    Item item = itemRepository.findById(itemId)
-                            .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + itemId));
-                    return StoreStock.builder()
-                            .item(item)
-                            .availableQuantity(0.0)
-                            .reservedQuantity(0.0)
-                            .build();
-                });
+                .orElseThrow(() -> new IllegalStateException("Stock row missing for item: " + itemId));
+        // The row was changed by a bulk UPDATE; pick up the committed quantity
+        entityManager.refresh(stock);
+        return stock;
+    }
 
-        stock.setAvailableQuantity(stock.getAvailableQuantity() + quantity);
-        return storeStockRepository.save(stock);
+    /**
+     * Add received quantities to stock in bulk (for GRN posting). Quantities
+     * should already be aggregated per item; all existing stock rows are
+     * updated in one JDBC batch, in item id order so concurrent postings lock
+     * rows in the same order. Items stocked for the first time get their row
+     * created individually. Each item's receipt is recorded as a movement of
+     * the given GRN.
+     */
+    @Transactional
+    public void receiveStock(Map<Long, Double> quantitiesByItemId, Long goodsReceiptId) {
+        List<Map.Entry<Long, Double>> increments = new TreeMap<>(quantitiesByItemId).entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .toList();
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+        int[] updated = jdbcTemplate.batchUpdate(
+                "update store_stocks set available_quantity = available_quantity + ? where item_id = ?",
+                increments,
+                increments.size(),
+                (ps, e) -> {
+                    ps.setDouble(1, e.getValue());
+                    ps.setLong(2, e.getKey());
+                })[0];
+
+        for (int i = 0; i < increments.size(); i++) {
+            Map.Entry<Long, Double> e = increments.get(i);
+            if (updated[i] == 0) {
+                incrementStock(e.getKey(), e.getValue());
+            } else {
+                stockLedger.recordAvailableDelta(e.getKey(), 0L, e.getValue());
+            }
+        }
+
+        Map<Long, Double> movements = new HashMap<>();
+        increments.forEach(e -> movements.put(e.getKey(), e.getValue()));
+        stockMovementService.record(StockMovementType.RECEIPT, goodsReceiptId, movements);
+        eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(movements.keySet())));
     }
 
     /**
      * Create a store return - increases stock when material is returned.
      */
     @Transactional
-    public StoreReturn createReturn(com.plant.procurement.store.dto.StoreReturnCreateRequest request) {
-        Department department = departmentRepository.findById(request.departmentId())
+    public StoreReturnResponse createReturn(com.plant.procurement.store.dto.StoreReturnCreateRequest request) {
+        Department department = masterDataCache.findDepartment(request.departmentId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid departmentId"));
 
         StoreReturn storeReturn = StoreReturn.builder()
@@ -251,8 +449,9 @@ public class StoreService {
             storeReturn.setStoreIssue(storeIssue);
         }
 
+        Map<Long, Double> returnedByItemId = new TreeMap<>();
         for (com.plant.procurement.store.dto.StoreReturnLineRequest lineReq : request.lines()) {
-            Item item = itemRepository.findById(lineReq.itemId())
+            Item item = masterDataCache.findItem(lineReq.itemId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + lineReq.itemId()));
 
             StoreReturnLine returnLine = StoreReturnLine.builder()
@@ -263,13 +462,87 @@ public class StoreService {
                     .build();
             storeReturn.getLines().add(returnLine);
 
-            // Increase stock
-            StoreStock stock = getStockForItem(item.getId());
-            stock.setAvailableQuantity(stock.getAvailableQuantity() + lineReq.returnedQuantity());
-            storeStockRepository.save(stock);
+            if (lineReq.returnedQuantity() > 0) {
+                returnedByItemId.merge(item.getId(), lineReq.returnedQuantity(), Double::sum);
+            }
+        }
+
+        // Increase stock once per item, in item id order like issues and
+        // receipts, so a return never holds one stock row while waiting on
+        // another that a concurrent issue locked first.
+        returnedByItemId.forEach(this::incrementStock);
+
+        StoreReturn saved = storeReturnRepository.save(storeReturn);
+        stockMovementService.record(StockMovementType.RETURN, saved.getId(), returnedByItemId);
+        consumptionService.recordReturned(department.getId(), saved.getReturnDate(), returnedByItemId);
+        eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(returnedByItemId.keySet())));
+        procurementMetrics.recordLines(ProcurementMetrics.Document.STORE_RETURN, saved.getLines().size());
+        return storeReturnMapper.toResponse(saved);
+    }
+
+    private static Map<Long, Double> negate(Map<Long, Double> quantities) {
+        Map<Long, Double> negated = new HashMap<>();
+        quantities.forEach((itemId, quantity) -> negated.put(itemId, -quantity));
+        return negated;
+    }
+
+    private StoreStock toStock(Item item, StockLevel level) {
+        return StoreStock.builder()
+                .id(level.stockId())
+                .item(item)
+                .availableQuantity(level.availableQuantity())
+                .reservedQuantity(level.reservedQuantity())
+                .build();
+    }
+
+    private StoreStock zeroStock(Item item) {
+        return StoreStock.builder()
+                .item(item)
+                .availableQuantity(0.0)
+                .reservedQuantity(0.0)
+                .build();
+    }
+
+    /**
+     * Takes {@code quantity} out of stock with a single conditional UPDATE, so
+     * concurrent issues of the same item can neither lose updates nor drive
+     * the quantity negative. {@code fromReserved} of it comes out of the
+     * line's own reservation, the rest out of available stock.
+     */
+    private void decrementStock(Item item, double quantity, double fromReserved) {
+        double fromAvailable = quantity - fromReserved;
+        if (storeStockRepository.decrementStock(item.getId(), fromAvailable, fromReserved) == 0) {
+            procurementMetrics.recordInsufficientStock();
+            double available = storeStockRepository.findAvailableQuantityByItemId(item.getId()).orElse(0.0);
+            throw new IllegalStateException(
+                    "Insufficient stock for item: " + item.getCode() +
+                            ". Available: " + (available + fromReserved) +
+                            ", Requested: " + quantity);
         }
+        stockLedger.recordDelta(item.getId(), 0L, -fromAvailable, -fromReserved);
+    }
 
-        return storeReturnRepository.save(storeReturn);
+    /**
+     * Adds {@code quantity} to stock atomically. On an item's first receipt the
+     * item row is locked so concurrent receipts create its stock row only once.
+     */
+    private void incrementStock(Long itemId, double quantity) {
+        if (storeStockRepository.incrementAvailable(itemId, quantity) > 0) {
+            stockLedger.recordAvailableDelta(itemId, 0L, quantity);
+            return;
+        }
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid itemId: " + itemId));
+        if (storeStockRepository.incrementAvailable(itemId, quantity) > 0) {
+            stockLedger.recordAvailableDelta(itemId, 0L, quantity);
+            return;
+        }
+        StoreStock created = storeStockRepository.saveAndFlush(StoreStock.builder()
+                .item(item)
+                .availableQuantity(quantity)
+                .reservedQuantity(0.0)
+                .build());
+        stockLedger.recordAvailableDelta(itemId, created.getId(), quantity);
     }
 }
 
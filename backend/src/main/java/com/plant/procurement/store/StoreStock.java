@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class StoreStock {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_stocks_seq")
+    @SequenceGenerator(name = "store_stocks_seq", sequenceName = "store_stocks_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
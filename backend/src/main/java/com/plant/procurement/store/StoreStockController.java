@@ -1,12 +1,17 @@
 package com.plant.procurement.store;
 
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.store.dto.StockBalanceResponse;
 import com.plant.procurement.store.dto.StoreStockResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -15,10 +20,14 @@ import java.util.stream.Collectors;
 public class StoreStockController {
 
     private final StoreService storeService;
+    private final StockMovementService stockMovementService;
     private final StoreStockMapper mapper;
 
-    public StoreStockController(StoreService storeService, StoreStockMapper mapper) {
+    public StoreStockController(StoreService storeService,
+                                StockMovementService stockMovementService,
+                                StoreStockMapper mapper) {
         this.storeService = storeService;
+        this.stockMovementService = stockMovementService;
         this.mapper = mapper;
     }
 
@@ -35,6 +44,34 @@ public class StoreStockController {
         return ResponseEntity.ok(mapper.toResponse(stock));
     }
 
+    /**
+     * Balances of all items with stock history as of {@code at} (default now).
+     */
+    @GetMapping("/as-of")
+    public List<StockBalanceResponse> balancesAsOf(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime at) {
+        return stockMovementService.balancesAsOf(at != null ? at : OffsetDateTime.now());
+    }
+
+    @GetMapping("/item/{itemId}/as-of")
+    public StockBalanceResponse balanceAsOf(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime at) {
+        return stockMovementService.balanceAsOf(itemId, at != null ? at : OffsetDateTime.now());
+    }
+
+    /**
+     * Takes snapshots up to {@code cutoff} (default start of today) without
+     * waiting for the nightly job. The cutoff must lie at least the snapshot
+     * safety lag in the past.
+     */
+    @PostMapping("/snapshots")
+    public SnapshotRunResponse takeSnapshots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cutoff) {
+        OffsetDateTime effective = cutoff != null ? cutoff : KeysetPage.startOfDay(LocalDate.now());
+        return new SnapshotRunResponse(effective, stockMovementService.takeSnapshots(effective));
+    }
+
     @PostMapping("/item/{itemId}/add")
     public ResponseEntity<StoreStockResponse> addStock(
             @PathVariable Long itemId,
@@ -50,6 +87,12 @@ public class StoreStockController {
                 .collect(Collectors.toList());
     }
 
+    public record SnapshotRunResponse(
+            OffsetDateTime cutoff,
+            int written
+    ) {
+    }
+
     public record AddStockRequest(
             @NotNull
             @Min(0)
@@ -1,9 +1,18 @@
 package com.plant.procurement.store;
 
 import com.plant.procurement.master.Item;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,5 +26,92 @@ public interface StoreStockRepository extends JpaRepository<StoreStock, Long> {
 
     @EntityGraph(attributePaths = {"item"})
     List<StoreStock> findAll();
-}
 
+    @EntityGraph(attributePaths = {"item"})
+    List<StoreStock> findByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * Locks the stock rows of the given items, in item id order so concurrent
+     * reservations acquire them in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StoreStock s where s.item.id in :itemIds order by s.item.id")
+    List<StoreStock> findForUpdateByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("""
+            select new com.plant.procurement.store.StockLevel(s.item.id, s.id, s.availableQuantity, s.reservedQuantity)
+            from StoreStock s
+            """)
+    List<StockLevel> findAllLevels();
+
+    @Query("""
+            select new com.plant.procurement.store.ReorderCheck(
+                i.id, i.code, i.description, i.uom, i.minStock, i.reorderLevel, coalesce(s.availableQuantity, 0.0))
+            from Item i
+            left join StoreStock s on s.item = i
+            where i.id in :itemIds
+              and i.active = true
+            """)
+    List<ReorderCheck> findReorderChecks(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Active items currently below their reorder level, to seed the alert set.
+     */
+    @Query("""
+            select new com.plant.procurement.store.ReorderCheck(
+                i.id, i.code, i.description, i.uom, i.minStock, i.reorderLevel, coalesce(s.availableQuantity, 0.0))
+            from Item i
+            left join StoreStock s on s.item = i
+            where i.active = true
+              and i.reorderLevel is not null
+              and coalesce(s.availableQuantity, 0.0) < i.reorderLevel
+            """)
+    List<ReorderCheck> findBelowReorderLevel();
+
+    @Query("select s.availableQuantity from StoreStock s where s.item.id = :itemId")
+    Optional<Double> findAvailableQuantityByItemId(@Param("itemId") Long itemId);
+
+    /**
+     * Atomically takes stock out: {@code fromAvailable} from available stock
+     * and {@code fromReserved} from the caller's own reservation. Returns 0
+     * when the row is missing or holds less than either amount, in which case
+     * nothing changes. Native SQL because Hibernate renders a parameter cast
+     * H2 cannot parse.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "store_stocks"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update store_stocks set available_quantity = available_quantity - :fromAvailable,
+                reserved_quantity = reserved_quantity - :fromReserved
+            where item_id = :itemId
+              and available_quantity >= :fromAvailable
+              and reserved_quantity >= :fromReserved
+            """, nativeQuery = true)
+    int decrementStock(@Param("itemId") Long itemId,
+                       @Param("fromAvailable") double fromAvailable,
+                       @Param("fromReserved") double fromReserved);
+
+    /**
+     * Moves a lapsed reservation's {@code quantity} back to available stock.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "store_stocks"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update store_stocks set available_quantity = available_quantity + :quantity,
+                reserved_quantity = reserved_quantity - :quantity
+            where item_id = :itemId
+            """, nativeQuery = true)
+    int releaseReserved(@Param("itemId") Long itemId, @Param("quantity") double quantity);
+
+    /**
+     * Atomically adds {@code quantity} to stock. Returns 0 when the item has no
+     * stock row yet.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "store_stocks"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update store_stocks set available_quantity = available_quantity + :quantity
+            where item_id = :itemId
+            """, nativeQuery = true)
+    int incrementAvailable(@Param("itemId") Long itemId, @Param("quantity") double quantity);
+}
@@ -0,0 +1,17 @@
+package com.plant.procurement.store.dto;
+
+import java.time.OffsetDateTime;
+
+public record ReorderAlertResponse(
+        Long itemId,
+        String itemCode,
+        String itemDescription,
+        String uom,
+        Double availableQuantity,
+        Integer minStock,
+        Integer reorderLevel,
+        boolean belowMinStock,
+        OffsetDateTime since,
+        Long draftPurchaseRequisitionId
+) {
+}
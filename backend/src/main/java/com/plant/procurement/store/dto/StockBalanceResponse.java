@@ -0,0 +1,15 @@
+package com.plant.procurement.store.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An item's available quantity as of a point in time, and the snapshot it
+ * was computed from ({@code null} when replayed from the start of the ledger).
+ */
+public record StockBalanceResponse(
+        Long itemId,
+        OffsetDateTime asOf,
+        Double quantity,
+        OffsetDateTime snapshotAt
+) {
+}
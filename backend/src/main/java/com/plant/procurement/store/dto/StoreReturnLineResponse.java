@@ -0,0 +1,12 @@
+package com.plant.procurement.store.dto;
+
+import com.plant.procurement.master.dto.ItemResponse;
+
+public record StoreReturnLineResponse(
+        Long id,
+        ItemResponse item,
+        Long storeIssueLineId,
+        Double returnedQuantity,
+        String reason
+) {
+}
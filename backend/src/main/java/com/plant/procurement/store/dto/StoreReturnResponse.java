@@ -0,0 +1,21 @@
+package com.plant.procurement.store.dto;
+
+import com.plant.procurement.master.dto.DepartmentResponse;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record StoreReturnResponse(
+        Long id,
+        String returnNumber,
+        Long storeIssueId,
+        DepartmentResponse department,
+        String returnedBy,
+        LocalDate returnDate,
+        String remarks,
+        List<StoreReturnLineResponse> lines,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
@@ -0,0 +1,407 @@
+-- Baseline schema, as previously created by Hibernate (ddl-auto: update).
+-- Portable between PostgreSQL and H2: enums are varchar with check
+-- constraints, ids come from <table>_seq sequences stepping by the entities'
+-- allocationSize of 50. Migrations run against an empty schema only; a
+-- database created by Hibernate before Flyway was introduced is not
+-- baselined automatically and must be migrated into a fresh schema.
+
+create sequence departments_seq start with 1 increment by 50;
+create sequence goods_receipt_lines_seq start with 1 increment by 50;
+create sequence goods_receipts_seq start with 1 increment by 50;
+create sequence items_seq start with 1 increment by 50;
+create sequence purchase_order_lines_seq start with 1 increment by 50;
+create sequence purchase_orders_seq start with 1 increment by 50;
+create sequence purchase_requisition_lines_seq start with 1 increment by 50;
+create sequence purchase_requisitions_seq start with 1 increment by 50;
+create sequence requisition_lines_seq start with 1 increment by 50;
+create sequence requisitions_seq start with 1 increment by 50;
+create sequence stock_movements_seq start with 1 increment by 50;
+create sequence stock_reservations_seq start with 1 increment by 50;
+create sequence stock_snapshots_seq start with 1 increment by 50;
+create sequence store_issue_lines_seq start with 1 increment by 50;
+create sequence store_issues_seq start with 1 increment by 50;
+create sequence store_return_lines_seq start with 1 increment by 50;
+create sequence store_returns_seq start with 1 increment by 50;
+create sequence store_stocks_seq start with 1 increment by 50;
+create sequence users_seq start with 1 increment by 50;
+create sequence vendors_seq start with 1 increment by 50;
+
+create table consumption_rollups (
+    issued_quantity double precision not null,
+    period_start date not null,
+    returned_quantity double precision not null,
+    department_id bigint not null,
+    item_id bigint not null,
+    constraint pk_consumption_rollups primary key (period_start, department_id, item_id)
+);
+
+create table departments (
+    id bigint not null,
+    active boolean not null,
+    code varchar(50) not null,
+    name varchar(150) not null,
+    constraint pk_departments primary key (id),
+    constraint uk_departments_code unique (code)
+);
+
+create table goods_receipt_lines (
+    id bigint not null,
+    ordered_quantity double precision not null,
+    received_quantity double precision not null,
+    goods_receipt_id bigint not null,
+    item_id bigint not null,
+    purchase_order_line_id bigint not null,
+    constraint pk_goods_receipt_lines primary key (id)
+);
+
+create table goods_receipts (
+    id bigint not null,
+    receipt_date date,
+    created_at timestamp(6) with time zone,
+    department_id bigint,
+    purchase_order_id bigint not null,
+    updated_at timestamp(6) with time zone,
+    vendor_id bigint not null,
+    received_by varchar(100) not null,
+    remarks varchar(500),
+    grn_number varchar(255),
+    status varchar(30) not null,
+    constraint pk_goods_receipts primary key (id),
+    constraint uk_goods_receipts_grn_number unique (grn_number),
+    constraint ck_goods_receipts_status check (status in ('CANCELLED', 'DRAFT', 'RECEIVED', 'REJECTED'))
+);
+
+create table items (
+    id bigint not null,
+    active boolean not null,
+    min_stock integer,
+    reorder_level integer,
+    uom varchar(30) not null,
+    code varchar(50) not null,
+    description varchar(250) not null,
+    constraint pk_items primary key (id),
+    constraint uk_items_code unique (code)
+);
+
+create table purchase_order_lines (
+    id bigint not null,
+    fully_received boolean not null,
+    quantity double precision not null,
+    received_quantity double precision not null,
+    total_amount numeric(15,2),
+    unit_price numeric(15,2) not null,
+    item_id bigint not null,
+    purchase_order_id bigint not null,
+    remarks varchar(300),
+    constraint pk_purchase_order_lines primary key (id)
+);
+
+create table purchase_orders (
+    id bigint not null,
+    expected_delivery_date date,
+    order_date date,
+    created_at timestamp(6) with time zone,
+    department_id bigint,
+    purchase_requisition_id bigint not null,
+    updated_at timestamp(6) with time zone,
+    vendor_id bigint not null,
+    created_by varchar(100) not null,
+    remarks varchar(500),
+    po_number varchar(255),
+    status varchar(30) not null,
+    constraint pk_purchase_orders primary key (id),
+    constraint uk_purchase_orders_po_number unique (po_number),
+    constraint ck_purchase_orders_status check (status in ('APPROVED', 'CANCELLED', 'DRAFT', 'FULLY_RECEIVED', 'PARTIALLY_RECEIVED', 'PENDING_APPROVAL', 'REJECTED'))
+);
+
+create table purchase_requisition_lines (
+    id bigint not null,
+    quantity double precision not null,
+    item_id bigint not null,
+    purchase_requisition_id bigint not null,
+    requisition_line_id bigint,
+    purpose varchar(300),
+    constraint pk_purchase_requisition_lines primary key (id)
+);
+
+create table purchase_requisitions (
+    id bigint not null,
+    required_by_date date,
+    created_at timestamp(6) with time zone,
+    department_id bigint,
+    requisition_id bigint,
+    updated_at timestamp(6) with time zone,
+    requested_by varchar(100) not null,
+    remarks varchar(500),
+    pr_number varchar(255),
+    status varchar(30) not null,
+    constraint pk_purchase_requisitions primary key (id),
+    constraint uk_purchase_requisitions_pr_number unique (pr_number),
+    constraint ck_purchase_requisitions_status check (status in ('APPROVED', 'CANCELLED', 'CONVERTED_TO_PO', 'DRAFT', 'PENDING_APPROVAL', 'REJECTED'))
+);
+
+create table requisition_lines (
+    id bigint not null,
+    issued_quantity double precision not null,
+    quantity double precision not null,
+    item_id bigint not null,
+    requisition_id bigint not null,
+    purpose varchar(300),
+    constraint pk_requisition_lines primary key (id)
+);
+
+create table requisitions (
+    id bigint not null,
+    required_by_date date,
+    created_at timestamp(6) with time zone,
+    department_id bigint not null,
+    hod_action_at timestamp(6) with time zone,
+    plant_head_action_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    requested_by varchar(100) not null,
+    remarks varchar(500),
+    req_number varchar(255),
+    status varchar(30) not null,
+    constraint pk_requisitions primary key (id),
+    constraint uk_requisitions_req_number unique (req_number),
+    constraint ck_requisitions_status check (status in ('APPROVED', 'CANCELLED', 'DRAFT', 'PENDING_HOD_APPROVAL', 'PENDING_PLANT_HEAD_APPROVAL', 'REJECTED_BY_HOD', 'REJECTED_BY_PLANT_HEAD'))
+);
+
+create table stock_movements (
+    id bigint not null,
+    quantity double precision not null,
+    item_id bigint not null,
+    moved_at timestamp(6) with time zone not null,
+    source_id bigint,
+    source_type varchar(20) not null,
+    constraint pk_stock_movements primary key (id),
+    constraint ck_stock_movements_source_type check (source_type in ('ADJUSTMENT', 'ISSUE', 'OPENING', 'RECEIPT', 'RETURN'))
+);
+
+create table stock_reservations (
+    id bigint not null,
+    quantity double precision not null,
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    item_id bigint not null,
+    requisition_line_id bigint not null,
+    constraint pk_stock_reservations primary key (id),
+    constraint uk_stock_reservations_requisition_line_id unique (requisition_line_id)
+);
+
+create table stock_snapshots (
+    id bigint not null,
+    balance double precision not null,
+    item_id bigint not null,
+    snapshot_at timestamp(6) with time zone not null,
+    constraint pk_stock_snapshots primary key (id),
+    constraint uk_stock_snapshots_item_time unique (item_id, snapshot_at)
+);
+
+create table store_issue_lines (
+    id bigint not null,
+    issued_quantity double precision not null,
+    requested_quantity double precision not null,
+    item_id bigint not null,
+    requisition_line_id bigint,
+    store_issue_id bigint not null,
+    constraint pk_store_issue_lines primary key (id)
+);
+
+create table store_issues (
+    id bigint not null,
+    issue_date date,
+    created_at timestamp(6) with time zone,
+    department_id bigint not null,
+    requisition_id bigint not null,
+    updated_at timestamp(6) with time zone,
+    issued_by varchar(100) not null,
+    remarks varchar(500),
+    issue_number varchar(255),
+    status varchar(30) not null,
+    constraint pk_store_issues primary key (id),
+    constraint uk_store_issues_issue_number unique (issue_number),
+    constraint ck_store_issues_status check (status in ('CANCELLED', 'DRAFT', 'ISSUED', 'PARTIALLY_ISSUED'))
+);
+
+create table store_return_lines (
+    id bigint not null,
+    returned_quantity double precision not null,
+    item_id bigint not null,
+    store_issue_line_id bigint,
+    store_return_id bigint not null,
+    reason varchar(300),
+    constraint pk_store_return_lines primary key (id)
+);
+
+create table store_returns (
+    id bigint not null,
+    return_date date,
+    created_at timestamp(6) with time zone,
+    department_id bigint not null,
+    store_issue_id bigint,
+    updated_at timestamp(6) with time zone,
+    returned_by varchar(100) not null,
+    remarks varchar(500),
+    return_number varchar(255),
+    constraint pk_store_returns primary key (id),
+    constraint uk_store_returns_return_number unique (return_number)
+);
+
+create table store_stocks (
+    id bigint not null,
+    available_quantity double precision not null,
+    reserved_quantity double precision not null,
+    item_id bigint not null,
+    constraint pk_store_stocks primary key (id),
+    constraint uk_store_stocks_item_id unique (item_id)
+);
+
+create table users (
+    id bigint not null,
+    active boolean not null,
+    department_id bigint,
+    username varchar(50) not null,
+    email varchar(100),
+    name varchar(100) not null,
+    role varchar(30) not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username),
+    constraint ck_users_role check (role in ('ADMIN', 'DEPT_USER', 'HOD', 'PLANT_HEAD', 'PURCHASE', 'STORE'))
+);
+
+create table vendors (
+    id bigint not null,
+    active boolean not null,
+    contact_phone varchar(20),
+    gst_number varchar(20),
+    code varchar(50) not null,
+    contact_email varchar(150),
+    name varchar(200) not null,
+    constraint pk_vendors primary key (id),
+    constraint uk_vendors_code unique (code)
+);
+
+create index idx_consumption_rollups_period
+  on consumption_rollups (period_start);
+
+create index idx_consumption_rollups_department
+  on consumption_rollups (department_id, period_start);
+
+-- Net stock movement per item and per period, answered from the index alone
+create index idx_stock_movements_item_time
+  on stock_movements (item_id, moved_at, quantity);
+
+create index idx_stock_movements_time
+  on stock_movements (moved_at, item_id, quantity);
+
+create index idx_stock_reservations_expires
+  on stock_reservations (expires_at);
+
+create index idx_stock_snapshots_time
+  on stock_snapshots (snapshot_at);
+
+alter table goods_receipt_lines
+    add constraint fk_goods_receipt_lines_goods_receipt_id foreign key (goods_receipt_id) references goods_receipts (id);
+
+alter table goods_receipt_lines
+    add constraint fk_goods_receipt_lines_item_id foreign key (item_id) references items (id);
+
+alter table goods_receipt_lines
+    add constraint fk_goods_receipt_lines_purchase_order_line_id foreign key (purchase_order_line_id) references purchase_order_lines (id);
+
+alter table goods_receipts
+    add constraint fk_goods_receipts_department_id foreign key (department_id) references departments (id);
+
+alter table goods_receipts
+    add constraint fk_goods_receipts_purchase_order_id foreign key (purchase_order_id) references purchase_orders (id);
+
+alter table goods_receipts
+    add constraint fk_goods_receipts_vendor_id foreign key (vendor_id) references vendors (id);
+
+alter table purchase_order_lines
+    add constraint fk_purchase_order_lines_item_id foreign key (item_id) references items (id);
+
+alter table purchase_order_lines
+    add constraint fk_purchase_order_lines_purchase_order_id foreign key (purchase_order_id) references purchase_orders (id);
+
+alter table purchase_orders
+    add constraint fk_purchase_orders_department_id foreign key (department_id) references departments (id);
+
+alter table purchase_orders
+    add constraint fk_purchase_orders_purchase_requisition_id foreign key (purchase_requisition_id) references purchase_requisitions (id);
+
+alter table purchase_orders
+    add constraint fk_purchase_orders_vendor_id foreign key (vendor_id) references vendors (id);
+
+alter table purchase_requisition_lines
+    add constraint fk_purchase_requisition_lines_item_id foreign key (item_id) references items (id);
+
+alter table purchase_requisition_lines
+    add constraint fk_purchase_requisition_lines_purchase_requisition_id foreign key (purchase_requisition_id) references purchase_requisitions (id);
+
+alter table purchase_requisition_lines
+    add constraint fk_purchase_requisition_lines_requisition_line_id foreign key (requisition_line_id) references requisition_lines (id);
+
+alter table purchase_requisitions
+    add constraint fk_purchase_requisitions_department_id foreign key (department_id) references departments (id);
+
+alter table purchase_requisitions
+    add constraint fk_purchase_requisitions_requisition_id foreign key (requisition_id) references requisitions (id);
+
+alter table requisition_lines
+    add constraint fk_requisition_lines_item_id foreign key (item_id) references items (id);
+
+alter table requisition_lines
+    add constraint fk_requisition_lines_requisition_id foreign key (requisition_id) references requisitions (id);
+
+alter table requisitions
+    add constraint fk_requisitions_department_id foreign key (department_id) references departments (id);
+
+alter table stock_movements
+    add constraint fk_stock_movements_item_id foreign key (item_id) references items (id);
+
+alter table stock_reservations
+    add constraint fk_stock_reservations_item_id foreign key (item_id) references items (id);
+
+alter table stock_reservations
+    add constraint fk_stock_reservations_requisition_line_id foreign key (requisition_line_id) references requisition_lines (id);
+
+alter table stock_snapshots
+    add constraint fk_stock_snapshots_item_id foreign key (item_id) references items (id);
+
+alter table store_issue_lines
+    add constraint fk_store_issue_lines_item_id foreign key (item_id) references items (id);
+
+alter table store_issue_lines
+    add constraint fk_store_issue_lines_requisition_line_id foreign key (requisition_line_id) references requisition_lines (id);
+
+alter table store_issue_lines
+    add constraint fk_store_issue_lines_store_issue_id foreign key (store_issue_id) references store_issues (id);
+
+alter table store_issues
+    add constraint fk_store_issues_department_id foreign key (department_id) references departments (id);
+
+alter table store_issues
+    add constraint fk_store_issues_requisition_id foreign key (requisition_id) references requisitions (id);
+
+alter table store_return_lines
+    add constraint fk_store_return_lines_item_id foreign key (item_id) references items (id);
+
+alter table store_return_lines
+    add constraint fk_store_return_lines_store_issue_line_id foreign key (store_issue_line_id) references store_issue_lines (id);
+
+alter table store_return_lines
+    add constraint fk_store_return_lines_store_return_id foreign key (store_return_id) references store_returns (id);
+
+alter table store_returns
+    add constraint fk_store_returns_department_id foreign key (department_id) references departments (id);
+
+alter table store_returns
+    add constraint fk_store_returns_store_issue_id foreign key (store_issue_id) references store_issues (id);
+
+alter table store_stocks
+    add constraint fk_store_stocks_item_id foreign key (item_id) references items (id);
+
+alter table users
+    add constraint fk_users_department_id foreign key (department_id) references departments (id);
@@ -0,0 +1,45 @@
+-- Indexes for the hot queries; QueryPlanTest checks the plans use them.
+
+-- Keyset list pages: newest first, optionally narrowed by status. The
+-- equality column leads, so a filtered page is one range scan in
+-- (created_at, id) order and stops at the page limit. The department
+-- variants are PostgreSQL-only (db/vendor/postgresql/V4).
+create index idx_requisitions_created
+    on requisitions (created_at desc, id desc);
+create index idx_requisitions_status_created
+    on requisitions (status, created_at desc, id desc);
+
+create index idx_store_issues_created
+    on store_issues (created_at desc, id desc);
+create index idx_store_issues_status_created
+    on store_issues (status, created_at desc, id desc);
+
+create index idx_purchase_orders_created
+    on purchase_orders (created_at desc, id desc);
+create index idx_purchase_orders_status_created
+    on purchase_orders (status, created_at desc, id desc);
+
+create index idx_goods_receipts_created
+    on goods_receipts (created_at desc, id desc);
+create index idx_goods_receipts_status_created
+    on goods_receipts (status, created_at desc, id desc);
+
+create index idx_store_returns_created
+    on store_returns (created_at desc, id desc);
+
+-- Documents by their parent, and lines by document (PostgreSQL does not
+-- index foreign keys on its own)
+create index idx_store_issues_requisition
+    on store_issues (requisition_id, id);
+create index idx_requisition_lines_requisition
+    on requisition_lines (requisition_id, id);
+create index idx_store_issue_lines_issue
+    on store_issue_lines (store_issue_id, id);
+create index idx_purchase_requisition_lines_pr
+    on purchase_requisition_lines (purchase_requisition_id, id);
+create index idx_purchase_order_lines_order
+    on purchase_order_lines (purchase_order_id, id);
+create index idx_goods_receipt_lines_receipt
+    on goods_receipt_lines (goods_receipt_id, id);
+create index idx_store_return_lines_return
+    on store_return_lines (store_return_id, id);
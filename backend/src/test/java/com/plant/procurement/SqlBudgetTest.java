@@ -0,0 +1,320 @@
+package com.plant.procurement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.master.Vendor;
+import com.plant.procurement.master.dto.ItemRequest;
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.dto.GRNCreateRequest;
+import com.plant.procurement.procurement.dto.GRNLineRequest;
+import com.plant.procurement.procurement.dto.GoodsReceiptResponse;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
+import com.plant.procurement.requisition.dto.RequisitionCreateRequest;
+import com.plant.procurement.requisition.dto.RequisitionDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionLineRequest;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.StoreStockController;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import com.plant.procurement.store.dto.StoreReturnCreateRequest;
+import com.plant.procurement.store.dto.StoreReturnLineRequest;
+import com.plant.procurement.store.dto.StoreReturnResponse;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives every controller against a realistic dataset and fails when a
+ * request needs more SQL than its budget, so an N+1 regression in an entity
+ * graph or mapper breaks the build.
+ * <p>
+ * The dataset has {@value #ITEMS} stocked items, a {@value #LINES}-line
+ * requisition issued in instalments, a purchase order with a partial GRN,
+ * a return, and enough further requisitions for list pages to be full.
+ * Counts come from Hibernate {@link Statistics}: statements prepared
+ * (a JDBC batch counts once) and rows fetched, being rows returned by
+ * queries plus entities and collections fetched one select at a time.
+ * Statements sent through {@code JdbcTemplate} are not seen.
+ * <p>
+ * Budgets are fixed for reads and grow per line for document writes, whose
+ * guarded UPDATEs are per line by design. Reorder checks run on their own
+ * thread after commits and can add a few statements to the next request,
+ * which the budgets allow for.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetTest {
+
+    private static final int ITEMS = 2000;
+    private static final int LINES = 60;
+    private static final int PAGE = 20;
+
+    /**
+     * Slack for the asynchronous reorder check that follows a stock change.
+     */
+    private static final int BACKGROUND_ROWS = 2 * LINES;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private Statistics statistics;
+    private Department department;
+    private Vendor vendor;
+    private List<Item> stocked;
+    private List<Item> lineItems;
+    private RequisitionResponse requisition;
+    private StoreIssueResponse issue;
+    private PurchaseRequisitionResponse purchaseRequisition;
+    private PurchaseOrderResponse purchaseOrder;
+    private GoodsReceiptResponse goodsReceipt;
+    private StoreReturnResponse storeReturn;
+
+    @BeforeAll
+    void seed() {
+        data = new TestData(context);
+        statistics = data.statistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+
+        department = data.department();
+        vendor = data.vendor();
+        stocked = data.stockedItems(ITEMS, 1000.0);
+        lineItems = stocked.subList(0, LINES);
+
+        // Issued in two instalments here; the tests post a third
+        requisition = data.approvedRequisition(department, lineItems, 30.0);
+        StoreService storeService = data.bean(StoreService.class);
+        storeService.createIssue(issueRequest(requisition, 5.0));
+        issue = storeService.createIssue(issueRequest(requisition, 5.0));
+        storeReturn = storeService.createReturn(returnRequest(1.0));
+
+        for (int i = 0; i < PAGE + 5; i++) {
+            int from = LINES + i * 5;
+            data.approvedRequisition(department, stocked.subList(from, from + 5), 1.0);
+        }
+
+        purchaseRequisition = data.purchaseRequisition(department, lineItems, 40.0);
+        purchaseOrder = data.bean(ProcurementService.class)
+                .createPO(data.purchaseOrderRequest(vendor, purchaseRequisition, 40.0));
+        goodsReceipt = data.bean(ProcurementService.class).createGRN(grnRequest(10.0));
+    }
+
+    @Test
+    void masterData() throws Exception {
+        int items = count("items");
+        within(get("/api/items"), 3, items + BACKGROUND_ROWS);
+        within(get("/api/items/{id}", lineItems.get(0).getId()), 2, 5 + BACKGROUND_ROWS);
+        within(post("/api/items").contentType(MediaType.APPLICATION_JSON).content(json(
+                new ItemRequest("NEW-" + System.nanoTime(), "New item", "NOS", null, null, true))),
+                5, 5 + BACKGROUND_ROWS);
+        within(get("/api/departments"), 3, count("departments") + BACKGROUND_ROWS);
+        within(get("/api/departments/{id}", department.getId()), 2, 5 + BACKGROUND_ROWS);
+        within(get("/api/vendors"), 3, count("vendors") + BACKGROUND_ROWS);
+        within(get("/api/vendors/{id}", vendor.getId()), 2, 5 + BACKGROUND_ROWS);
+    }
+
+    @Test
+    void requisitions() throws Exception {
+        within(get("/api/requisitions").param("limit", String.valueOf(PAGE)), 3, PAGE + 1 + BACKGROUND_ROWS);
+        within(get("/api/requisitions").param("status", "APPROVED").param("departmentId",
+                department.getId().toString()).param("limit", String.valueOf(PAGE)), 3, PAGE + 1 + BACKGROUND_ROWS);
+        within(get("/api/requisitions/{id}", requisition.id()), 3, 5 + BACKGROUND_ROWS);
+
+        MvcResult created = within(post("/api/requisitions").contentType(MediaType.APPLICATION_JSON).content(json(
+                new RequisitionCreateRequest(department.getId(), "test", null, null,
+                        lineItems.stream().map(i -> new RequisitionLineRequest(i.getId(), 1.0, null)).toList()))),
+                10, LINES + BACKGROUND_ROWS);
+        Long id = objectMapper.readValue(created.getResponse().getContentAsString(), RequisitionResponse.class).id();
+        RequisitionDecisionRequest decision = new RequisitionDecisionRequest("test", null);
+        within(post("/api/requisitions/{id}/approve-hod", id).contentType(MediaType.APPLICATION_JSON)
+                .content(json(decision)), 5, 5 + BACKGROUND_ROWS);
+        within(post("/api/requisitions/{id}/approve-plant-head", id).contentType(MediaType.APPLICATION_JSON)
+                .content(json(decision)), 15, 2 * LINES + BACKGROUND_ROWS);
+
+        Long rejected = data.requisition(department, lineItems.subList(0, 3), 1.0).id();
+        within(post("/api/requisitions/{id}/reject-hod", rejected).contentType(MediaType.APPLICATION_JSON)
+                .content(json(decision)), 5, 5 + BACKGROUND_ROWS);
+
+        List<Long> bulk = List.of(
+                data.requisition(department, lineItems, 1.0).id(),
+                data.requisition(department, lineItems, 1.0).id());
+        within(post("/api/requisitions/bulk-decision").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("ids", bulk, "action", "APPROVE_HOD"))),
+                5, 10 + BACKGROUND_ROWS);
+        within(post("/api/requisitions/bulk-decision").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("ids", bulk, "action", "APPROVE_PLANT_HEAD"))),
+                15, 3 * LINES + BACKGROUND_ROWS);
+    }
+
+    @Test
+    void stock() throws Exception {
+        Long itemId = lineItems.get(0).getId();
+        within(get("/api/store/stocks"), 3, 2 * count("store_stocks") + BACKGROUND_ROWS);
+        within(get("/api/store/stocks/item/{id}", itemId), 3, 5 + BACKGROUND_ROWS);
+        within(post("/api/store/stocks/check-availability").contentType(MediaType.APPLICATION_JSON)
+                .content(json(new StoreStockController.CheckAvailabilityRequest(
+                        lineItems.stream().map(Item::getId).toList()))), 3, LINES + BACKGROUND_ROWS);
+        within(post("/api/store/stocks/item/{id}/add", itemId).contentType(MediaType.APPLICATION_JSON)
+                .content(json(new StoreStockController.AddStockRequest(1.0))), 8, 5 + BACKGROUND_ROWS);
+        within(get("/api/store/stocks/item/{id}/as-of", itemId), 3, 5 + BACKGROUND_ROWS);
+        within(get("/api/store/stocks/as-of"), 4, 2 * count("stock_snapshots") + count("items") + BACKGROUND_ROWS);
+        within(get("/api/store/reorder-alerts"), 0, BACKGROUND_ROWS);
+        within(get("/api/analytics/consumption").param("departmentId", department.getId().toString()),
+                2, 2 * LINES + BACKGROUND_ROWS);
+    }
+
+    @Test
+    void storeIssues() throws Exception {
+        within(get("/api/store/issues").param("limit", String.valueOf(PAGE)), 6, PAGE * (2 * LINES + 5));
+        within(get("/api/store/issues/{id}", issue.id()), 4, 5 + BACKGROUND_ROWS);
+        within(get("/api/store/issues/requisition/{id}", requisition.id()), 4, 5 + BACKGROUND_ROWS);
+        within(post("/api/store/issues").contentType(MediaType.APPLICATION_JSON)
+                .content(json(issueRequest(requisition, 5.0))), 2 * LINES + 30, 3 * LINES + BACKGROUND_ROWS);
+    }
+
+    @Test
+    void storeReturns() throws Exception {
+        within(get("/api/store/returns").param("limit", String.valueOf(PAGE)), 6, PAGE * (2 * LINES + 5));
+        within(get("/api/store/returns/{id}", storeReturn.id()), 3, 5 + BACKGROUND_ROWS);
+        within(post("/api/store/returns").contentType(MediaType.APPLICATION_JSON)
+                .content(json(returnRequest(1.0))), 3 * LINES + 30, 3 * LINES + BACKGROUND_ROWS);
+    }
+
+    @Test
+    void purchasing() throws Exception {
+        within(get("/api/purchase-requisitions"), 3,
+                count("purchase_requisitions") + count("purchase_requisition_lines") + BACKGROUND_ROWS);
+        within(get("/api/purchase-requisitions/{id}", purchaseRequisition.id()), 3, 5 + BACKGROUND_ROWS);
+        within(post("/api/purchase-requisitions").contentType(MediaType.APPLICATION_JSON).content(json(
+                new PurchaseRequisitionCreateRequest(null, department.getId(), "test", null, null,
+                        lineItems.stream().map(i -> new PurchaseRequisitionLineRequest(i.getId(), 5.0, null))
+                                .toList()))), 10, LINES + BACKGROUND_ROWS);
+
+        within(get("/api/purchase-orders").param("limit", String.valueOf(PAGE)), 6, PAGE * (2 * LINES + 5));
+        within(get("/api/purchase-orders/{id}", purchaseOrder.id()), 3, 5 + BACKGROUND_ROWS);
+        within(get("/api/purchase-orders/open-lines").param("vendorId", vendor.getId().toString()),
+                2, LINES + BACKGROUND_ROWS);
+        PurchaseRequisitionResponse pr = data.purchaseRequisition(department, lineItems, 5.0);
+        within(post("/api/purchase-orders").contentType(MediaType.APPLICATION_JSON)
+                .content(json(data.purchaseOrderRequest(vendor, pr, 5.0))), 10, 3 * LINES + BACKGROUND_ROWS);
+
+        within(get("/api/grns").param("limit", String.valueOf(PAGE)), 6, PAGE * (2 * LINES + 5));
+        within(get("/api/grns/{id}", goodsReceipt.id()), 3, 5 + BACKGROUND_ROWS);
+        within(post("/api/grns").contentType(MediaType.APPLICATION_JSON)
+                .content(json(grnRequest(10.0))), 2 * LINES + 30, 3 * LINES + BACKGROUND_ROWS);
+    }
+
+    @Test
+    void exports() throws Exception {
+        for (String document : List.of("requisitions", "issues", "returns", "purchase-orders", "grns")) {
+            within(get("/api/export/{document}", document).param("departmentId", department.getId().toString()),
+                    3, 0);
+        }
+    }
+
+    /**
+     * Performs the request (and its async dispatch, for streamed exports),
+     * expects success, and checks the SQL it needed against the budget.
+     * Rows returned by streamed queries are not counted.
+     */
+    private MvcResult within(MockHttpServletRequestBuilder request, int maxStatements, int maxRows)
+            throws Exception {
+        statistics.clear();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus())
+                .as("status of %s", describe(result))
+                .isBetween(200, 299);
+
+        long statements = statistics.getPrepareStatementCount();
+        long rows = rowsFetched();
+        assertThat(statements)
+                .as("SQL statements for %s", describe(result))
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(rows)
+                .as("rows fetched for %s", describe(result))
+                .isLessThanOrEqualTo(maxRows);
+        return result;
+    }
+
+    private long rowsFetched() {
+        long rows = statistics.getEntityFetchCount() + statistics.getCollectionFetchCount();
+        for (String query : statistics.getQueries()) {
+            rows += statistics.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return rows;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+
+    private int count(String table) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private static StoreIssueCreateRequest issueRequest(RequisitionResponse requisition, double quantity) {
+        return new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                requisition.lines().stream()
+                        .map(line -> new StoreIssueLineRequest(line.id(), quantity))
+                        .toList());
+    }
+
+    private StoreReturnCreateRequest returnRequest(double quantity) {
+        return new StoreReturnCreateRequest(null, department.getId(), "test", null, null,
+                lineItems.stream()
+                        .map(item -> new StoreReturnLineRequest(item.getId(), quantity, null))
+                        .toList());
+    }
+
+    private GRNCreateRequest grnRequest(double quantity) {
+        return new GRNCreateRequest(purchaseOrder.id(), "test", null, null,
+                purchaseOrder.lines().stream()
+                        .map(line -> new GRNLineRequest(line.id(), line.item().id(), quantity))
+                        .toList());
+    }
+}
@@ -0,0 +1,171 @@
+package com.plant.procurement;
+
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.DepartmentRepository;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.master.ItemRepository;
+import com.plant.procurement.master.Vendor;
+import com.plant.procurement.master.VendorRepository;
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.dto.PurchaseOrderCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionCreateRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseRequisitionResponse;
+import com.plant.procurement.requisition.RequisitionService;
+import com.plant.procurement.requisition.dto.RequisitionCreateRequest;
+import com.plant.procurement.requisition.dto.RequisitionDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionLineRequest;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StockLedger;
+import com.plant.procurement.store.StoreStock;
+import com.plant.procurement.store.StoreStockRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds master and document data through the application's own services.
+ * Tests share one in-memory database per context, so every code carries a
+ * prefix unique to this instance and tests only look at the rows they made.
+ */
+public final class TestData {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final ApplicationContext context;
+    private final String prefix;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public TestData(ApplicationContext context) {
+        this.context = context;
+        this.prefix = "T" + INSTANCES.incrementAndGet() + "-" + System.nanoTime() % 100_000 + "-";
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Statistics statistics() {
+        return bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Department department() {
+        String code = nextCode();
+        return bean(DepartmentRepository.class).save(Department.builder()
+                .code(code)
+                .name("Department " + code)
+                .active(true)
+                .build());
+    }
+
+    public Vendor vendor() {
+        String code = nextCode();
+        return bean(VendorRepository.class).save(Vendor.builder()
+                .code(code)
+                .name("Vendor " + code)
+                .active(true)
+                .build());
+    }
+
+    /**
+     * {@code count} active items, each with a stock row holding {@code quantity}
+     * available. The stock ledger is reloaded so reads see the new rows.
+     */
+    public List<Item> stockedItems(int count, double quantity) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String code = nextCode();
+            items.add(Item.builder()
+                    .code(code)
+                    .description("Item " + code)
+                    .uom("NOS")
+                    .minStock(0)
+                    .reorderLevel(0)
+                    .active(true)
+                    .build());
+        }
+        List<Item> saved = bean(ItemRepository.class).saveAll(items);
+        bean(StoreStockRepository.class).saveAll(saved.stream()
+                .map(item -> StoreStock.builder()
+                        .item(item)
+                        .availableQuantity(quantity)
+                        .reservedQuantity(0.0)
+                        .build())
+                .toList());
+        bean(StockLedger.class).reload();
+        return saved;
+    }
+
+    public StoreStock stock(Item item) {
+        return bean(StoreStockRepository.class).findByItemId(item.getId()).orElseThrow();
+    }
+
+    public RequisitionResponse requisition(Department department, List<Item> items, double quantity) {
+        return bean(RequisitionService.class).create(new RequisitionCreateRequest(
+                department.getId(),
+                "test",
+                null,
+                null,
+                items.stream()
+                        .map(item -> new RequisitionLineRequest(item.getId(), quantity, null))
+                        .toList()));
+    }
+
+    /**
+     * A requisition over {@code items}, taken through HOD and Plant Head
+     * approval (which reserves its quantities where stock allows).
+     */
+    public RequisitionResponse approvedRequisition(Department department, List<Item> items, double quantity) {
+        RequisitionService requisitionService = bean(RequisitionService.class);
+        RequisitionResponse created = requisition(department, items, quantity);
+        RequisitionDecisionRequest decision = new RequisitionDecisionRequest("test", null);
+        requisitionService.approveByHod(created.id(), decision);
+        return requisitionService.approveByPlantHead(created.id(), decision);
+    }
+
+    public PurchaseRequisitionResponse purchaseRequisition(Department department, List<Item> items, double quantity) {
+        return bean(ProcurementService.class).createPR(new PurchaseRequisitionCreateRequest(
+                null,
+                department.getId(),
+                "test",
+                null,
+                null,
+                items.stream()
+                        .map(item -> new PurchaseRequisitionLineRequest(item.getId(), quantity, null))
+                        .toList()));
+    }
+
+    public PurchaseOrderCreateRequest purchaseOrderRequest(Vendor vendor, PurchaseRequisitionResponse pr,
+                                                           double quantity) {
+        return new PurchaseOrderCreateRequest(
+                pr.id(),
+                vendor.getId(),
+                null,
+                "test",
+                null,
+                null,
+                null,
+                pr.lines().stream()
+                        .map(line -> new PurchaseOrderLineRequest(
+                                line.id(), line.item().id(), quantity, BigDecimal.valueOf(12.5), null))
+                        .toList());
+    }
+
+    public PurchaseOrderResponse purchaseOrder(Department department, Vendor vendor, List<Item> items,
+                                               double quantity) {
+        return bean(ProcurementService.class).createPO(
+                purchaseOrderRequest(vendor, purchaseRequisition(department, items, quantity), quantity));
+    }
+
+    private String nextCode() {
+        return prefix + sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,81 @@
+package com.plant.procurement.analytics;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rollup rows are created and added to by the same upsert, one row per item,
+ * department and month.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConsumptionServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConsumptionService consumptionService;
+
+    private Department department;
+    private List<Item> items;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(context);
+        department = data.department();
+        items = data.stockedItems(2, 100.0);
+    }
+
+    @Test
+    void firstPostingInsertsAndLaterPostingsAdd() {
+        Long first = items.get(0).getId();
+        Long second = items.get(1).getId();
+
+        consumptionService.recordIssued(department.getId(), DAY, Map.of(first, 4.0));
+        consumptionService.recordIssued(department.getId(), DAY.plusDays(10), Map.of(first, 3.0, second, 2.0));
+        consumptionService.recordReturned(department.getId(), DAY, Map.of(first, 1.0));
+
+        assertThat(totals(first)).containsExactly(7.0, 1.0);
+        assertThat(totals(second)).containsExactly(2.0, 0.0);
+    }
+
+    @Test
+    void eachMonthHasItsOwnRow() {
+        Long item = items.get(0).getId();
+
+        consumptionService.recordIssued(department.getId(), DAY, Map.of(item, 4.0));
+        consumptionService.recordIssued(department.getId(), DAY.plusMonths(1), Map.of(item, 5.0));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from consumption_rollups where item_id = ? and department_id = ?",
+                Integer.class, item, department.getId())).isEqualTo(2);
+    }
+
+    private List<Double> totals(Long itemId) {
+        return jdbcTemplate.queryForObject("""
+                        select issued_quantity, returned_quantity from consumption_rollups
+                        where item_id = ? and department_id = ? and period_start = ?""",
+                (rs, n) -> List.of(rs.getDouble(1), rs.getDouble(2)),
+                itemId, department.getId(), DAY.withDayOfMonth(1));
+    }
+}
@@ -0,0 +1,280 @@
+package com.plant.procurement.common;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.procurement.GRNStatus;
+import com.plant.procurement.procurement.ProcurementService;
+import com.plant.procurement.procurement.PurchaseOrderLineRepository;
+import com.plant.procurement.procurement.PurchaseOrderStatus;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import com.plant.procurement.requisition.RequisitionService;
+import com.plant.procurement.requisition.RequisitionStatus;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StockMovementRepository;
+import com.plant.procurement.store.StockReservationRepository;
+import com.plant.procurement.store.StoreIssueStatus;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression test for the hot queries. Each test runs a service
+ * or repository call, records the SELECTs Hibernate prepares for it together
+ * with their bound parameters, and EXPLAINs them against the migrated H2
+ * schema: the driving table must not be scanned and, where an index is
+ * named, the plan must use it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int PAGE = 50;
+
+    /**
+     * H2 backs each department foreign key with its own index and serves
+     * department-filtered pages from it; the (department_id, created_at, id)
+     * list indexes exist on PostgreSQL only.
+     */
+    private static final String DEPARTMENT_KEY_INDEX = "fk_%s_department_id";
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private RequisitionService requisitionService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private ProcurementService procurementService;
+
+    @Autowired
+    private PurchaseOrderLineRepository purchaseOrderLineRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    private Department department;
+    private Item item;
+    private RequisitionResponse requisition;
+    private PurchaseOrderResponse purchaseOrder;
+
+    @BeforeAll
+    void seed() {
+        TestData data = new TestData(context);
+        department = data.department();
+        List<Item> items = data.stockedItems(5, 1000.0);
+        item = items.get(0);
+        for (int i = 0; i < 3; i++) {
+            requisition = data.approvedRequisition(department, items, 2.0);
+            storeService.createIssue(new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                    requisition.lines().stream()
+                            .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                            .toList()));
+        }
+        purchaseOrder = data.purchaseOrder(department, data.vendor(), items, 10.0);
+    }
+
+    @Test
+    void requisitionListPages() {
+        assertUsesIndex("requisitions", "idx_requisitions_created",
+                () -> requisitionService.list(ListFilter.of(null, null, null, null, null, PAGE)));
+        assertUsesIndex("requisitions", "idx_requisitions_status_created",
+                () -> requisitionService.list(ListFilter.of(RequisitionStatus.APPROVED, null, null, null, null, PAGE)));
+        assertUsesIndex("requisitions", DEPARTMENT_KEY_INDEX.formatted("requisitions"),
+                () -> requisitionService.list(ListFilter.of(null, department.getId(), null, null, null, PAGE)));
+    }
+
+    @Test
+    void storeIssueListPages() {
+        assertUsesIndex("store_issues", "idx_store_issues_status_created",
+                () -> storeService.listIssues(ListFilter.of(StoreIssueStatus.ISSUED, null, null, null, null, PAGE)));
+        assertUsesIndex("store_issues", DEPARTMENT_KEY_INDEX.formatted("store_issues"),
+                () -> storeService.listIssues(ListFilter.of(null, department.getId(), null, null, null, PAGE)));
+    }
+
+    @Test
+    void procurementAndReturnListPages() {
+        assertUsesIndex("purchase_orders", "idx_purchase_orders_status_created",
+                () -> procurementService.listPOs(
+                        ListFilter.of(PurchaseOrderStatus.APPROVED, null, null, null, null, PAGE)));
+        assertUsesIndex("goods_receipts", "idx_goods_receipts_status_created",
+                () -> procurementService.listGRNs(ListFilter.of(GRNStatus.RECEIVED, null, null, null, null, PAGE)));
+        assertUsesIndex("store_returns", DEPARTMENT_KEY_INDEX.formatted("store_returns"),
+                () -> storeService.listReturns(ListFilter.of(null, department.getId(), null, null, null, PAGE)));
+    }
+
+    @Test
+    void documentsByParent() {
+        assertUsesIndex("store_issues", null,
+                () -> storeService.listIssuesByRequisition(requisition.id()));
+    }
+
+    @Test
+    void openLinesOfAPurchaseOrder() {
+        assertUsesIndex("purchase_order_lines", "idx_po_lines_open",
+                () -> purchaseOrderLineRepository.countByPurchaseOrderIdAndFullyReceivedFalse(purchaseOrder.id()));
+    }
+
+    @Test
+    void stockMovementSums() {
+        OffsetDateTime now = OffsetDateTime.now();
+        assertUsesIndex("stock_movements", "idx_stock_movements_item_time",
+                () -> stockMovementRepository.sumForItem(item.getId(), now.minusDays(1), now));
+        assertUsesIndex("stock_movements", "idx_stock_movements_time",
+                () -> stockMovementRepository.sumByItem(now.minusDays(1), now));
+    }
+
+    @Test
+    void expiredReservations() {
+        assertUsesIndex("stock_reservations", "idx_stock_reservations_expires",
+                () -> stockReservationRepository.findExpiredIds(OffsetDateTime.now(), PageRequest.of(0, 100)));
+    }
+
+    /**
+     * The plans of the SELECTs from {@code table} run by {@code call}; none may
+     * scan the table and, unless {@code index} is null, one must use it.
+     */
+    private void assertUsesIndex(String table, String index, Runnable call) {
+        List<String> plans = recorder.plansOf(table, call);
+        assertThat(plans).as("queries from %s", table).isNotEmpty()
+                .noneMatch(plan -> plan.contains(table + ".tablescan"));
+        if (index != null) {
+            assertThat(plans).as("plans of queries from %s", table).anyMatch(plan -> plan.contains(index));
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    /**
+     * Wraps the application's DataSource to record the SQL and parameters of
+     * each prepared SELECT while a call is being recorded, and EXPLAINs them
+     * on the unwrapped DataSource.
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+
+        record Executed(String sql, List<Object> parameters) {
+        }
+
+        private final List<Executed> executed = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+        private JdbcTemplate explain;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && explain == null) {
+                explain = new JdbcTemplate(dataSource);
+                return dataSource(dataSource);
+            }
+            return bean;
+        }
+
+        List<String> plansOf(String table, Runnable call) {
+            executed.clear();
+            recording = true;
+            try {
+                call.run();
+            } finally {
+                recording = false;
+            }
+            return executed.stream()
+                    .filter(e -> e.sql().toLowerCase(Locale.ROOT).contains(" from " + table + " "))
+                    .map(e -> String.join("\n", explain.queryForList(
+                            "explain " + e.sql(), String.class, e.parameters().toArray())))
+                    .map(plan -> plan.toLowerCase(Locale.ROOT))
+                    .toList();
+        }
+
+        private DataSource dataSource(DataSource target) {
+            return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection ? connection(connection) : result;
+                    });
+        }
+
+        private Connection connection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                            return statement(ps, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement statement(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (recording && args == null && (name.equals("executeQuery") || name.equals("execute"))
+                                && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                            executed.add(new Executed(sql, new ArrayList<>(parameters.values())));
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.plant.procurement.master;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.ReorderAlertService;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Master data is read from the second-level cache once loaded: repeated
+ * lookups, each in its own session, run no SQL. Counted from Hibernate
+ * statistics, which are global: reorder checks, which run on their own
+ * thread after each stock change, are mocked out so only this thread's SQL
+ * is counted.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MasterDataSecondLevelCacheTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private StoreService storeService;
+
+    @MockBean
+    private ReorderAlertService reorderAlertService;
+
+    private TestData data;
+    private Statistics statistics;
+    private Department department;
+    private List<Item> items;
+
+    @BeforeEach
+    void seed() {
+        data = new TestData(context);
+        statistics = data.statistics();
+        department = data.department();
+        items = data.stockedItems(3, 100.0);
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedLookupsByIdRunNoSql() {
+        loadAll();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(items.size() + 1);
+
+        statistics.clear();
+        loadAll();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(items.size() + 1);
+    }
+
+    @Test
+    void repeatedLookupsByCodeRunNoSql() {
+        Item item = items.get(0);
+        itemRepository.findByCodeIgnoreCase(item.getCode()).orElseThrow();
+        departmentRepository.findByCodeIgnoreCase(department.getCode()).orElseThrow();
+
+        statistics.clear();
+        assertThat(itemRepository.findByCodeIgnoreCase(item.getCode())).isPresent();
+        assertThat(departmentRepository.findByCodeIgnoreCase(department.getCode())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void stockUpdatesDoNotEvictMasterData() {
+        RequisitionResponse requisition = data.approvedRequisition(department, items, 2.0);
+        loadAll();
+
+        // Native UPDATEs on store_stocks and requisition_lines declare their table
+        storeService.createIssue(new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                requisition.lines().stream()
+                        .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                        .toList()));
+
+        statistics.clear();
+        loadAll();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private void loadAll() {
+        for (Item item : items) {
+            assertThat(itemRepository.findById(item.getId())).isPresent();
+        }
+        assertThat(departmentRepository.findById(department.getId())).isPresent();
+    }
+}
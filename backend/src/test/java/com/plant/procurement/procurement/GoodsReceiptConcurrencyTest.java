@@ -0,0 +1,92 @@
+package com.plant.procurement.procurement;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.master.Vendor;
+import com.plant.procurement.procurement.dto.GRNCreateRequest;
+import com.plant.procurement.procurement.dto.GRNLineRequest;
+import com.plant.procurement.procurement.dto.PurchaseOrderLineResponse;
+import com.plant.procurement.procurement.dto.PurchaseOrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two goods receipts at once against one purchase order, each receiving a
+ * different line in full. Whichever commits second must see both lines
+ * received and close the order.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GoodsReceiptConcurrencyTest {
+
+    private static final int ORDERS = 20;
+    private static final double QUANTITY = 10.0;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProcurementService procurementService;
+
+    @Test
+    void concurrentReceiptsClosingTheLastLinesFullyReceiveTheOrder() throws Exception {
+        TestData data = new TestData(context);
+        Department department = data.department();
+        Vendor vendor = data.vendor();
+        List<Item> items = data.stockedItems(2, 0.0);
+        List<PurchaseOrderResponse> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(data.purchaseOrder(department, vendor, items, QUANTITY));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        try {
+            for (PurchaseOrderResponse order : orders) {
+                List<Future<?>> receipts = new ArrayList<>();
+                for (PurchaseOrderLineResponse line : order.lines()) {
+                    receipts.add(executor.submit(() -> {
+                        barrier.await();
+                        return procurementService.createGRN(new GRNCreateRequest(order.id(), "test", null, null,
+                                List.of(new GRNLineRequest(line.id(), line.item().id(), QUANTITY))));
+                    }));
+                }
+                for (Future<?> receipt : receipts) {
+                    receipt.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (PurchaseOrderResponse order : orders) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "select status from purchase_orders where id = ?", String.class, order.id()))
+                    .as("order %s", order.id())
+                    .isEqualTo(PurchaseOrderStatus.FULLY_RECEIVED.name());
+        }
+        for (Item item : items) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "select available_quantity from store_stocks where item_id = ?", Double.class, item.getId()))
+                    .isEqualTo(ORDERS * QUANTITY);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.plant.procurement.requisition;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionRequest;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionResponse;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionResponse.Outcome;
+import com.plant.procurement.requisition.dto.RequisitionBulkDecisionResponse.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequisitionBulkDecisionTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RequisitionService requisitionService;
+
+    private TestData data;
+    private Department department;
+    private List<Item> items;
+
+    @BeforeEach
+    void seed() {
+        data = new TestData(context);
+        department = data.department();
+        items = data.stockedItems(2, 100.0);
+    }
+
+    @Test
+    void reportsEachIdByWhetherItsRowWasMoved() {
+        Long pending = data.requisition(department, items, 1.0).id();
+        Long approved = data.approvedRequisition(department, items, 1.0).id();
+        Long missing = Long.MAX_VALUE;
+
+        RequisitionBulkDecisionResponse response = requisitionService.bulkDecide(
+                new RequisitionBulkDecisionRequest(List.of(pending, approved, missing, pending),
+                        RequisitionBulkAction.APPROVE_HOD));
+
+        assertThat(response.applied()).isEqualTo(1);
+        assertThat(response.outcomes()).containsExactly(
+                new Outcome(pending, Result.APPLIED, RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL),
+                new Outcome(approved, Result.INVALID_STATUS, RequisitionStatus.APPROVED),
+                new Outcome(missing, Result.NOT_FOUND, null));
+        assertThat(statusOf(pending)).isEqualTo(RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL.name());
+
+        // Deciding again finds nothing left to move, whatever the clock says
+        RequisitionBulkDecisionResponse repeated = requisitionService.bulkDecide(
+                new RequisitionBulkDecisionRequest(List.of(pending), RequisitionBulkAction.APPROVE_HOD));
+        assertThat(repeated.applied()).isZero();
+        assertThat(repeated.outcomes()).containsExactly(
+                new Outcome(pending, Result.INVALID_STATUS, RequisitionStatus.PENDING_PLANT_HEAD_APPROVAL));
+    }
+
+    @Test
+    void plantHeadApprovalReservesStockForAppliedIdsOnly() {
+        Long first = data.requisition(department, items, 10.0).id();
+        Long second = data.requisition(department, items, 10.0).id();
+        requisitionService.bulkDecide(new RequisitionBulkDecisionRequest(
+                List.of(first, second), RequisitionBulkAction.APPROVE_HOD));
+
+        requisitionService.bulkDecide(new RequisitionBulkDecisionRequest(
+                List.of(first), RequisitionBulkAction.APPROVE_PLANT_HEAD));
+        RequisitionBulkDecisionResponse response = requisitionService.bulkDecide(new RequisitionBulkDecisionRequest(
+                List.of(first, second), RequisitionBulkAction.APPROVE_PLANT_HEAD));
+
+        assertThat(response.outcomes()).extracting(Outcome::result)
+                .containsExactly(Result.INVALID_STATUS, Result.APPLIED);
+        for (Item item : items) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "select reserved_quantity from store_stocks where item_id = ?", Double.class, item.getId()))
+                    .isEqualTo(20.0);
+        }
+    }
+
+    @Test
+    void rejectsMoreIdsThanOnePage() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(Long::toString).collect(Collectors.joining(","));
+        mockMvc.perform(post("/api/requisitions/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + ids + "],\"action\":\"APPROVE_HOD\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String statusOf(Long id) {
+        return jdbcTemplate.queryForObject("select status from requisitions where id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,106 @@
+package com.plant.procurement.requisition;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The issued running total kept on each requisition line, which the store
+ * issue relies on instead of summing earlier issues.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RequisitionLineRepositoryTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RequisitionLineRepository requisitionLineRepository;
+
+    @Autowired
+    private StoreService storeService;
+
+    private Item item;
+    private RequisitionResponse requisition;
+    private Long lineId;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(context);
+        Department department = data.department();
+        item = data.stockedItems(1, 100.0).get(0);
+        requisition = data.approvedRequisition(department, List.of(item), 10.0);
+        lineId = requisition.lines().get(0).id();
+    }
+
+    @Test
+    void addIssuedQuantityRejectsOverIssue() {
+        assertThat(addIssued(6.0)).isEqualTo(1);
+        assertThat(addIssued(5.0)).isZero();
+        assertThat(issued()).isEqualTo(6.0);
+
+        assertThat(addIssued(4.0)).isEqualTo(1);
+        assertThat(issued()).isEqualTo(10.0);
+        assertThat(addIssued(0.5)).isZero();
+    }
+
+    @Test
+    void issueRepeatingALineCannotExceedItsQuantity() {
+        // Each request line fits what is left, but together they do not
+        StoreIssueCreateRequest request = new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                List.of(new StoreIssueLineRequest(lineId, 6.0), new StoreIssueLineRequest(lineId, 5.0)));
+
+        assertThatThrownBy(() -> storeService.createIssue(request)).isInstanceOf(IllegalStateException.class);
+        assertThat(issued()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select available_quantity + reserved_quantity from store_stocks where item_id = ?",
+                Double.class, item.getId())).isEqualTo(100.0);
+    }
+
+    @Test
+    void issueBeyondTheRemainderIsRefused() {
+        storeService.createIssue(new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                List.of(new StoreIssueLineRequest(lineId, 6.0))));
+
+        assertThatThrownBy(() -> storeService.createIssue(new StoreIssueCreateRequest(
+                requisition.id(), "test", null, null, List.of(new StoreIssueLineRequest(lineId, 5.0)))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Remaining: 4.0");
+        assertThat(issued()).isEqualTo(6.0);
+    }
+
+    private int addIssued(double quantity) {
+        Integer updated = transactionTemplate.execute(
+                status -> requisitionLineRepository.addIssuedQuantity(lineId, quantity));
+        return updated != null ? updated : 0;
+    }
+
+    private double issued() {
+        return jdbcTemplate.queryForObject(
+                "select issued_quantity from requisition_lines where id = ?", Double.class, lineId);
+    }
+}
@@ -0,0 +1,92 @@
+package com.plant.procurement.requisition;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.common.KeysetPage;
+import com.plant.procurement.common.ListFilter;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.dto.RequisitionListItemResponse;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.StoreService;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreIssueResponse;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List pages of requisitions, and of store issues embedding a requisition
+ * list item, take line counts from SQL and never load requisition lines.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RequisitionListProjectionTest {
+
+    private static final int PAGE = 10;
+    private static final int LINES = 30;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private RequisitionService requisitionService;
+
+    @Autowired
+    private StoreService storeService;
+
+    private Statistics statistics;
+    private Department department;
+
+    @BeforeAll
+    void seed() {
+        TestData data = new TestData(context);
+        statistics = data.statistics();
+        department = data.department();
+        List<Item> items = data.stockedItems(LINES, 1000.0);
+        for (int i = 0; i < PAGE; i++) {
+            RequisitionResponse requisition = data.approvedRequisition(department, items, 2.0);
+            storeService.createIssue(new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                    requisition.lines().stream()
+                            .map(line -> new StoreIssueLineRequest(line.id(), 1.0))
+                            .toList()));
+        }
+    }
+
+    @Test
+    void requisitionPageReadsProjectionRows() {
+        statistics.clear();
+        KeysetPage<RequisitionListItemResponse> page = requisitionService.list(
+                ListFilter.of(null, department.getId(), null, null, null, PAGE));
+
+        assertThat(page.items()).hasSize(PAGE).allSatisfy(r -> assertThat(r.lineCount()).isEqualTo(LINES));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void storeIssuePageCountsRequisitionLinesInSql() {
+        statistics.clear();
+        KeysetPage<StoreIssueResponse> page = storeService.listIssues(
+                ListFilter.of(null, department.getId(), null, null, null, PAGE));
+
+        assertThat(page.items()).hasSize(PAGE)
+                .allSatisfy(i -> assertThat(i.requisition().lineCount()).isEqualTo(LINES));
+        assertThat(statistics.getEntityStatistics(RequisitionLine.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionStatistics(Requisition.class.getName() + ".lines").getFetchCount())
+                .isZero();
+        // The same budget as SqlBudgetTest gives the issue list
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+}
@@ -0,0 +1,91 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stock receipts committing while the ledger is rebuilt over and over; the
+ * ledger must end up agreeing with {@code store_stocks}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockLedgerTest {
+
+    private static final int WRITERS = 4;
+    private static final int WRITES = 200;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Test
+    void reloadsRacingCommitsNeitherLoseNorRepeatChanges() throws Exception {
+        TestData data = new TestData(context);
+        List<Item> items = data.stockedItems(WRITERS, 0.0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (Item item : items) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < WRITES; i++) {
+                        storeService.addStock(item.getId(), 1.0);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reloader = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    stockLedger.reload();
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            reloader.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Item item : items) {
+            Double stored = jdbcTemplate.queryForObject(
+                    "select available_quantity from store_stocks where item_id = ?", Double.class, item.getId());
+            assertThat(stored).isEqualTo((double) WRITES);
+            assertThat(stockLedger.get(item.getId()).availableQuantity())
+                    .as("ledger for %s", item.getCode())
+                    .isEqualTo(stored);
+        }
+    }
+}
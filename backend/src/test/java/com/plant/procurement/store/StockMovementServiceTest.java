@@ -0,0 +1,32 @@
+package com.plant.procurement.store;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockMovementServiceTest {
+
+    @Autowired
+    private StockMovementService stockMovementService;
+
+    @Test
+    void snapshotCutoffMustTrailInFlightTransactions() {
+        // The default safety lag is five minutes
+        OffsetDateTime now = OffsetDateTime.now();
+        assertThatThrownBy(() -> stockMovementService.takeSnapshots(now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("PT5M");
+        assertThatThrownBy(() -> stockMovementService.takeSnapshots(now.minus(Duration.ofMinutes(4))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> stockMovementService.takeSnapshots(now.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
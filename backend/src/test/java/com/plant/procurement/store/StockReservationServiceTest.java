@@ -0,0 +1,140 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservations made at Plant Head approval, with a one second lifetime so
+ * expiry through the delay queue can be observed. The periodic sweep keeps
+ * its ten minute default and never runs here.
+ */
+@SpringBootTest(properties = "procurement.store.reservation.ttl=PT1S")
+@ActiveProfiles("test")
+class StockReservationServiceTest {
+
+    private static final long EXPIRY_WAIT_MILLIS = 10_000;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoreService storeService;
+
+    private TestData data;
+    private Department department;
+    private Item item;
+
+    @BeforeEach
+    void seed() {
+        data = new TestData(context);
+        department = data.department();
+        item = data.stockedItems(1, 100.0).get(0);
+    }
+
+    @Test
+    void approvalReservesAndExpiryReleasesThroughTheQueue() {
+        data.approvedRequisition(department, List.of(item), 30.0);
+
+        // The release may already have run; either way nothing is lost
+        Levels reservedOrReleased = levels();
+        assertThat(reservedOrReleased.total()).isEqualTo(100.0);
+        assertThat(reservedOrReleased.reserved()).isIn(0.0, 30.0);
+        assertThat(reservedOrReleased.reserved()).isEqualTo(reservedOrReleased.held());
+
+        assertThat(awaitExpiry()).isEqualTo(new Levels(100.0, 0.0, 0.0));
+    }
+
+    @Test
+    void issueAfterExpiryDrawsOnAvailableStock() {
+        RequisitionResponse requisition = data.approvedRequisition(department, List.of(item), 30.0);
+        awaitExpiry();
+
+        storeService.createIssue(issue(requisition, 20.0));
+
+        assertThat(levels()).isEqualTo(new Levels(80.0, 0.0, 0.0));
+    }
+
+    @Test
+    void linesRepeatingARequisitionLineDrawItsReservationOnce() {
+        RequisitionResponse requisition = data.approvedRequisition(department, List.of(item), 30.0);
+
+        storeService.createIssue(issue(requisition, 10.0, 15.0));
+
+        // 5 is still reserved, unless the reservation lapsed before the issue
+        Levels afterIssue = levels();
+        assertThat(afterIssue.total()).isEqualTo(75.0);
+        assertThat(afterIssue.reserved()).isIn(0.0, 5.0);
+        assertThat(afterIssue.reserved()).isEqualTo(afterIssue.held());
+
+        assertThat(awaitExpiry()).isEqualTo(new Levels(75.0, 0.0, 0.0));
+    }
+
+    private static StoreIssueCreateRequest issue(RequisitionResponse requisition, Double... quantities) {
+        Long lineId = requisition.lines().get(0).id();
+        return new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                List.of(quantities).stream()
+                        .map(quantity -> new StoreIssueLineRequest(lineId, quantity))
+                        .toList());
+    }
+
+    /**
+     * The item's stock row and the sum of its reservations, read in one
+     * statement so a concurrent release is seen entirely or not at all.
+     */
+    private Levels levels() {
+        return jdbcTemplate.queryForObject("""
+                        select s.available_quantity, s.reserved_quantity,
+                               (select coalesce(sum(r.quantity), 0) from stock_reservations r
+                                where r.item_id = s.item_id)
+                        from store_stocks s
+                        where s.item_id = ?""",
+                (rs, rowNum) -> new Levels(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3)),
+                item.getId());
+    }
+
+    private Levels awaitExpiry() {
+        await(() -> levels().held() == 0.0);
+        return levels();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + EXPIRY_WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis())
+                    .as("waited %d ms for reservations to expire", EXPIRY_WAIT_MILLIS)
+                    .isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private record Levels(double available, double reserved, double held) {
+
+        double total() {
+            return available + reserved;
+        }
+    }
+}
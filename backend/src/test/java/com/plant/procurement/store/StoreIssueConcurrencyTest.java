@@ -0,0 +1,214 @@
+package com.plant.procurement.store;
+
+import com.plant.procurement.TestData;
+import com.plant.procurement.master.Department;
+import com.plant.procurement.master.Item;
+import com.plant.procurement.requisition.dto.RequisitionResponse;
+import com.plant.procurement.store.dto.StoreIssueCreateRequest;
+import com.plant.procurement.store.dto.StoreIssueLineRequest;
+import com.plant.procurement.store.dto.StoreReturnCreateRequest;
+import com.plant.procurement.store.dto.StoreReturnLineRequest;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many store issues at once over the same items, each listing its lines in
+ * a different order. Issues may be refused for lack of stock, but none may
+ * deadlock or time out on a lock, and stock must balance afterwards. A second
+ * test interleaves issues and returns of a single hot item, so decrements and
+ * increments race on one stock row, and checks that no update is lost.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StoreIssueConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ITEMS = 20;
+    private static final int INSTALMENTS = 5;
+    private static final double STOCK = 300.0;
+    private static final double REQUESTED = 50.0;
+    private static final int HOT_ROUNDS = 25;
+    private static final double HOT_STOCK = 1000.0;
+    private static final double HOT_ISSUE = 2.0;
+    private static final double HOT_RETURN = 1.0;
+
+    private static final Logger log = LoggerFactory.getLogger(StoreIssueConcurrencyTest.class);
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Test
+    void concurrentIssuesNeitherDeadlockNorOverdrawStock() throws Exception {
+        TestData data = new TestData(context);
+        Department department = data.department();
+        List<Item> items = data.stockedItems(ITEMS, STOCK);
+        // More is requested than stocked, so some reservations are partial and some issues are refused
+        List<RequisitionResponse> requisitions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            requisitions.add(data.approvedRequisition(department, items, REQUESTED));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger issued = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                RequisitionResponse requisition = requisitions.get(t);
+                Random random = new Random(t);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < INSTALMENTS; round++) {
+                        List<StoreIssueLineRequest> lines = new ArrayList<>(requisition.lines().stream()
+                                .map(line -> new StoreIssueLineRequest(line.id(), REQUESTED / INSTALMENTS))
+                                .toList());
+                        Collections.shuffle(lines, random);
+                        try {
+                            storeService.createIssue(new StoreIssueCreateRequest(
+                                    requisition.id(), "test", null, null, lines));
+                            issued.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            assertThat(e).hasMessageStartingWith("Insufficient stock");
+                            refused.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            // A lock timeout or deadlock surfaces here as a ConcurrencyFailureException
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(issued.get() + refused.get()).isEqualTo(THREADS * INSTALMENTS);
+        assertThat(issued.get()).isPositive();
+        for (Item item : items) {
+            double[] balance = jdbcTemplate.queryForObject("""
+                            select s.available_quantity, s.reserved_quantity,
+                                   (select coalesce(sum(l.issued_quantity), 0) from requisition_lines l
+                                    where l.item_id = s.item_id),
+                                   (select coalesce(sum(r.quantity), 0) from stock_reservations r
+                                    where r.item_id = s.item_id)
+                            from store_stocks s
+                            where s.item_id = ?""",
+                    (rs, rowNum) -> new double[]{rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4)},
+                    item.getId());
+            assertThat(balance[0]).as("available %s", item.getCode()).isGreaterThanOrEqualTo(0.0);
+            assertThat(balance[1]).as("reserved %s", item.getCode()).isGreaterThanOrEqualTo(0.0);
+            assertThat(balance[0] + balance[1] + balance[2]).as("balance %s", item.getCode()).isEqualTo(STOCK);
+            assertThat(balance[1]).as("reservations %s", item.getCode()).isEqualTo(balance[3]);
+        }
+    }
+
+    @Test
+    void interleavedIssuesAndReturnsOfOneItemLoseNoUpdates() throws Exception {
+        TestData data = new TestData(context);
+        Department department = data.department();
+        Item item = data.stockedItems(1, HOT_STOCK).get(0);
+        // Stock covers every issue, so none is refused and the expected quantity is exact
+        List<RequisitionResponse> requisitions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            requisitions.add(data.approvedRequisition(department, List.of(item), HOT_ROUNDS * HOT_ISSUE));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger issues = new AtomicInteger();
+        AtomicInteger returns = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        long elapsed;
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                RequisitionResponse requisition = requisitions.get(t);
+                Random random = new Random(t);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < HOT_ROUNDS; round++) {
+                        boolean returnFirst = random.nextBoolean();
+                        if (returnFirst) {
+                            returnHotItem(department, item);
+                            returns.incrementAndGet();
+                        }
+                        storeService.createIssue(new StoreIssueCreateRequest(requisition.id(), "test", null, null,
+                                List.of(new StoreIssueLineRequest(requisition.lines().get(0).id(), HOT_ISSUE))));
+                        issues.incrementAndGet();
+                        if (!returnFirst) {
+                            returnHotItem(department, item);
+                            returns.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            elapsed = System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int operations = issues.get() + returns.get();
+        log.info("{} issues and returns of one item on {} threads: {} ops/sec", operations, THREADS,
+                Math.round(operations / (elapsed / 1e9)));
+
+        assertThat(issues.get()).isEqualTo(THREADS * HOT_ROUNDS);
+        assertThat(returns.get()).isEqualTo(THREADS * HOT_ROUNDS);
+        double[] balance = jdbcTemplate.queryForObject("""
+                        select s.available_quantity, s.reserved_quantity,
+                               (select coalesce(sum(l.issued_quantity), 0) from requisition_lines l
+                                where l.item_id = s.item_id),
+                               (select coalesce(sum(l.returned_quantity), 0) from store_return_lines l
+                                where l.item_id = s.item_id)
+                        from store_stocks s
+                        where s.item_id = ?""",
+                (rs, rowNum) -> new double[]{rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4)},
+                item.getId());
+        assertThat(balance[2]).as("issued").isEqualTo(issues.get() * HOT_ISSUE);
+        assertThat(balance[3]).as("returned").isEqualTo(returns.get() * HOT_RETURN);
+        assertThat(balance[0] + balance[1]).as("stock")
+                .isEqualTo(HOT_STOCK - issues.get() * HOT_ISSUE + returns.get() * HOT_RETURN);
+    }
+
+    /**
+     * Returns {@link #HOT_RETURN} of {@code item} over two lines, so the
+     * return's per-item sum is exercised too.
+     */
+    private void returnHotItem(Department department, Item item) {
+        storeService.createReturn(new StoreReturnCreateRequest(null, department.getId(), "test", null, null,
+                List.of(new StoreReturnLineRequest(item.getId(), HOT_RETURN / 2, null),
+                        new StoreReturnLineRequest(item.getId(), HOT_RETURN / 2, null))));
+    }
+}
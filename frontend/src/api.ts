@@ -1,6 +1,6 @@
 export type HttpMethod = 'GET' | 'POST' | 'PUT' | 'DELETE';
 
-async function request<T>(url: string, method: HttpMethod = 'GET', body?: unknown): Promise<T> {
+async function send(url: string, method: HttpMethod, body?: unknown): Promise<Response> {
   const res = await fetch(url, {
     method,
     headers: {
@@ -14,16 +14,38 @@ async function request<T>(url: string, method: HttpMethod = 'GET', body?: unknow
     throw new Error(text || `Request failed with status ${res.status}`);
   }
 
+  return res;
+}
+
+async function request<T>(url: string, method: HttpMethod = 'GET', body?: unknown): Promise<T> {
+  const res = await send(url, method, body);
   return (await res.json()) as T;
 }
 
 const apiBase = '/api';
 
+// Keyset-paginated list endpoints return one page per call and the cursor
+// for the next page in this header; absent on the last page.
+const nextCursorHeader = 'X-Next-Cursor';
+const pageLimit = 500;
+
+async function requestAll<T>(url: string): Promise<T[]> {
+  const rows: T[] = [];
+  const separator = url.includes('?') ? '&' : '?';
+  let cursor: string | null = null;
+  do {
+    const query = `limit=${pageLimit}` + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : '');
+    const res = await send(`${url}${separator}${query}`, 'GET');
+    rows.push(...((await res.json()) as T[]));
+    cursor = res.headers.get(nextCursorHeader);
+  } while (cursor);
+  return rows;
+}
+
 export const api = {
   get: <T>(path: string) => request<T>(`${apiBase}${path}`, 'GET'),
+  getAll: <T>(path: string) => requestAll<T>(`${apiBase}${path}`),
   post: <T>(path: string, body?: unknown) => request<T>(`${apiBase}${path}`, 'POST', body),
   put: <T>(path: string, body?: unknown) => request<T>(`${apiBase}${path}`, 'PUT', body),
   delete: <T>(path: string) => request<T>(`${apiBase}${path}`, 'DELETE')
 };
-
-
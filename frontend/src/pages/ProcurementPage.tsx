@@ -63,7 +63,11 @@ type PurchaseOrder = {
 type GoodsReceipt = {
   id: number;
   grnNumber?: string;
-  purchaseOrder: PurchaseOrder;
+  purchaseOrder: {
+    id: number;
+    poNumber?: string;
+    status: string;
+  };
   vendor: VendorResponse;
   receivedBy: string;
   receiptDate?: string;
@@ -126,15 +130,15 @@ function ProcurementPage() {
         api.get<ItemResponse[]>('/items'),
         api.get<DepartmentResponse[]>('/departments'),
         api.get<VendorResponse[]>('/vendors'),
-        api.get<RequisitionListItemResponse[]>('/requisitions'),
+        api.getAll<RequisitionListItemResponse>('/requisitions?status=APPROVED'),
         api.get<PurchaseRequisition[]>('/purchase-requisitions'),
-        api.get<PurchaseOrder[]>('/purchase-orders'),
-        api.get<GoodsReceipt[]>('/grns')
+        api.getAll<PurchaseOrder>('/purchase-orders'),
+        api.getAll<GoodsReceipt>('/grns')
       ]);
       setItems(its);
       setDepartments(depts);
       setVendors(vends);
-      setRequisitions(reqs.filter((r) => r.status === 'APPROVED'));
+      setRequisitions(reqs);
       setPRs(prList);
       setPOs(poList);
       setGRNs(grnList);
@@ -61,7 +61,7 @@ function RequisitionsPage() {
     try {
       setLoading(true);
       const [reqs, depts, its] = await Promise.all([
-        api.get<RequisitionListItemResponse[]>('/requisitions'),
+        api.getAll<RequisitionListItemResponse>('/requisitions'),
         api.get<DepartmentResponse[]>('/departments'),
         api.get<ItemResponse[]>('/items')
       ]);
@@ -86,13 +86,13 @@ function StorePage() {
       const [stk, its, reqs, depts, issues] = await Promise.all([
         api.get<StoreStockResponse[]>('/store/stocks'),
         api.get<ItemResponse[]>('/items'),
-        api.get<RequisitionListItemResponse[]>('/requisitions'),
+        api.getAll<RequisitionListItemResponse>('/requisitions?status=APPROVED'),
         api.get<Array<{ id: number; code: string; name: string }>>('/departments'),
-        api.get<Array<{ id: number; requisition: { id: number }; department: { id: number; name: string } }>>('/store/issues')
+        api.getAll<{ id: number; requisition: { id: number }; department: { id: number; name: string } }>('/store/issues')
       ]);
       setStocks(stk);
       setItems(its);
-      setRequisitions(reqs.filter((r) => r.status === 'APPROVED'));
+      setRequisitions(reqs);
       setDepartments(depts);
       setStoreIssues(issues);
     } catch (e) {